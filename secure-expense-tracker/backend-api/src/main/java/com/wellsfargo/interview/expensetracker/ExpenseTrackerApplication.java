@@ -2,6 +2,7 @@ package com.wellsfargo.interview.expensetracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
@@ -19,8 +20,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @SpringBootApplication
 @EnableWebSecurity
 @EnableTransactionManagement
+@EnableScheduling
 public class ExpenseTrackerApplication {
-
+    
     public static void main(String[] args) {
         SpringApplication.run(ExpenseTrackerApplication.class, args);
         
@@ -0,0 +1,102 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-process cache configuration
+ *
+ * Caches are bounded by size and TTL and record statistics, which Spring Boot
+ * publishes as cache.* meters on the actuator metrics endpoint.
+ * Evictions issued inside a transaction are applied after commit. Puts are deferred the same way,
+ * so caches loaded by readers racing with writers use {@code @Cacheable(sync = true)}, which stores
+ * the value atomically with the load instead.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String USER_STATS = "userStats";
+    public static final String USER_CATEGORIES = "userCategories";
+    public static final String USER_SNAPSHOTS = "userSnapshots";
+    public static final String VERIFIED_TOKENS = "verifiedTokens";
+    
+    @Value("${app.cache.user-stats.max-size:10000}")
+    private long userStatsMaxSize;
+    
+    @Value("${app.cache.user-stats.ttl:60s}")
+    private Duration userStatsTtl;
+    
+    @Value("${app.cache.user-categories.max-size:10000}")
+    private long userCategoriesMaxSize;
+    
+    @Value("${app.cache.user-categories.ttl:30m}")
+    private Duration userCategoriesTtl;
+    
+    @Value("${app.cache.user-snapshots.max-size:50000}")
+    private long userSnapshotsMaxSize;
+    
+    @Value("${app.cache.user-snapshots.ttl:5m}")
+    private Duration userSnapshotsTtl;
+    
+    @Value("${app.cache.verified-tokens.max-size:100000}")
+    private long verifiedTokensMaxSize;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_STATS, Caffeine.newBuilder()
+            .maximumSize(userStatsMaxSize)
+            .expireAfterWrite(userStatsTtl)
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(USER_CATEGORIES, Caffeine.newBuilder()
+            .maximumSize(userCategoriesMaxSize)
+            .expireAfterAccess(userCategoriesTtl)
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(USER_SNAPSHOTS, Caffeine.newBuilder()
+            .maximumSize(userSnapshotsMaxSize)
+            .expireAfterWrite(userSnapshotsTtl)
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(VERIFIED_TOKENS, Caffeine.newBuilder()
+            .maximumSize(verifiedTokensMaxSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+    
+    /**
+     * Keeps each verified token only until the token itself expires
+     */
+    private static final class UntilTokenExpiry implements Expiry<Object, Object> {
+        
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            Instant expiresAt = ((JwtTokenProvider.VerifiedToken) value).expiresAt();
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+        
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache configuration
+ *
+ * Regions live in a local Caffeine-backed JCache manager handed to Hibernate,
+ * so every region is declared here with its own bound; Hibernate fails fast on
+ * an undeclared region. Hit/miss counts are published as hibernate.* meters.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    
+    public static final String USER_REGION = "users";
+    public static final String CATEGORY_REGION = "categories";
+    
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Value("${app.hibernate-cache.users.max-size:10000}")
+    private long usersMaxSize;
+    
+    @Value("${app.hibernate-cache.users.ttl:10m}")
+    private Duration usersTtl;
+    
+    @Value("${app.hibernate-cache.categories.max-size:50000}")
+    private long categoriesMaxSize;
+    
+    @Value("${app.hibernate-cache.categories.ttl:1h}")
+    private Duration categoriesTtl;
+    
+    @Value("${app.hibernate-cache.queries.max-size:10000}")
+    private long queriesMaxSize;
+    
+    @Value("${app.hibernate-cache.queries.ttl:10m}")
+    private Duration queriesTtl;
+    
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        createRegion(cacheManager, USER_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, CATEGORY_REGION, categoriesMaxSize, categoriesTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queriesMaxSize, queriesTtl);
+        // Timestamps must never be evicted before the query results that depend on them
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    private void createRegion(CacheManager cacheManager, String name, Long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
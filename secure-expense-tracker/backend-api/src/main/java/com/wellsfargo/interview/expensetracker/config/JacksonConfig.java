@@ -0,0 +1,21 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON serialization configuration
+ */
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * Serialize every transaction field unless a request narrows them with its own filters
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer transactionFieldsFilterCustomizer() {
+        return builder -> builder.filters(TransactionFields.ALL.toFilterProvider());
+    }
+}
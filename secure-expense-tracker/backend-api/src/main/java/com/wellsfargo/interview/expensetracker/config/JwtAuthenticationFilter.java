@@ -0,0 +1,106 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.monitoring.RequestCost;
+import com.wellsfargo.interview.expensetracker.monitoring.UserIdHasher;
+import com.wellsfargo.interview.expensetracker.service.UserSnapshot;
+import com.wellsfargo.interview.expensetracker.service.UserSnapshotService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Authenticates requests carrying a Bearer JWT
+ *
+ * Verified tokens are cached by SHA-256 hash until they expire, so the signature is
+ * checked once per token rather than once per request. The principal is built from
+ * the cached user snapshot, so no User entity is loaded on the request path.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtTokenProvider tokenProvider;
+    private final UserSnapshotService userSnapshotService;
+    private final Cache verifiedTokens;
+    private final UserIdHasher userIdHasher;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserSnapshotService userSnapshotService, 
+                                   Cache verifiedTokens, UserIdHasher userIdHasher) {
+        this.tokenProvider = tokenProvider;
+        this.userSnapshotService = userSnapshotService;
+        this.verifiedTokens = verifiedTokens;
+        this.userIdHasher = userIdHasher;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            JwtTokenProvider.VerifiedToken verified = verify(token);
+            if (verified != null) {
+                UserSnapshot snapshot = userSnapshotService.getSnapshot(verified.userId());
+                if (snapshot != null && snapshot.isActive()) {
+                    User principal = snapshot.toPrincipal();
+                    UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+                        .authenticated(principal, null, principal.getAuthorities());
+                    authentication.setDetails(detailsSource.buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    RequestCost.setUserIdHash(userIdHasher.hash(principal.getId()));
+                }
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    private JwtTokenProvider.VerifiedToken verify(String token) {
+        String key = hash(token);
+        JwtTokenProvider.VerifiedToken verified = verifiedTokens.get(key, JwtTokenProvider.VerifiedToken.class);
+        if (verified != null && !verified.isExpired()) {
+            return verified;
+        }
+        
+        try {
+            verified = tokenProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+    
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
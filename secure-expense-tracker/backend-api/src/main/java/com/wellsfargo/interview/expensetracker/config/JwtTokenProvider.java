@@ -0,0 +1,79 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Issues and verifies HMAC-signed JWT access tokens
+ */
+@Component
+public class JwtTokenProvider {
+    
+    private static final String USER_ID_CLAIM = "uid";
+    
+    @Value("${app.jwt.secret}")
+    private String secret;
+    
+    @Value("${app.jwt.expiration}")
+    private long expirationMs;
+    
+    private SecretKey key;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+    
+    /**
+     * Issue a token for the user
+     */
+    public String generateToken(User user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .setSubject(user.getUsername())
+            .claim(USER_ID_CLAIM, user.getId())
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plusMillis(expirationMs)))
+            .signWith(key, SignatureAlgorithm.HS256)
+            .compact();
+    }
+    
+    /**
+     * Verify the signature and expiry of a token
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null || claims.getExpiration() == null) {
+            throw new JwtException("Token is missing required claims");
+        }
+        return new VerifiedToken(userId, claims.getSubject(), claims.getExpiration().toInstant());
+    }
+    
+    /**
+     * Claims of a token whose signature has been checked
+     */
+    public record VerifiedToken(Long userId, String username, Instant expiresAt) {
+        
+        public boolean isExpired() {
+            return !Instant.now().isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration
+ *
+ * Latency is recorded per layer so a regression can be attributed:
+ * - http.server.requests: whole request per endpoint, including JSON serialization
+ * - expense.service: TransactionService methods (@Timed)
+ * - spring.data.repository.invocations: repository methods, i.e. SQL
+ * - expense.crypto: encryption and decryption
+ * - expense.query.rows: rows returned by list, report and export queries
+ * - expense.sql.statements: SQL statements per request, per endpoint
+ * - expense.sql.budget.exceeded: requests over their endpoint's statement budget
+ *
+ * Percentiles and histograms are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    public static final String SERVICE_TIMER = "expense.service";
+    public static final String CRYPTO_TIMER = "expense.crypto";
+    public static final String QUERY_ROWS = "expense.query.rows";
+    public static final String SQL_STATEMENTS = "expense.sql.statements";
+    public static final String SQL_BUDGET_EXCEEDED = "expense.sql.budget.exceeded";
+    
+    /**
+     * Enables @Timed on Spring beans
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing configuration
+ *
+ * bcrypt runs on a small dedicated pool with a bounded queue, so a login storm sheds
+ * load with a fast rejection instead of tying up every request thread. The bcrypt cost
+ * is calibrated at startup to the highest value that still meets the target latency.
+ */
+@Configuration
+public class PasswordHashingConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+    
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_ROUNDS = 3;
+    
+    @Value("${app.auth.bcrypt.strength:0}")
+    private int strength;
+    
+    @Value("${app.auth.bcrypt.min-strength:10}")
+    private int minStrength;
+    
+    @Value("${app.auth.bcrypt.max-strength:14}")
+    private int maxStrength;
+    
+    @Value("${app.auth.bcrypt.target-latency:250ms}")
+    private Duration targetLatency;
+    
+    @Value("${app.auth.hashing.threads:0}")
+    private int threads;
+    
+    @Value("${app.auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder() {
+        int cost = strength > 0 ? strength : calibrate();
+        log.info("Using bcrypt cost {}", cost);
+        return new BCryptPasswordEncoder(cost);
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingExecutor(poolSize, queueCapacity);
+    }
+    
+    /**
+     * Time the minimum cost and extrapolate, since each extra cost step doubles the work
+     */
+    private int calibrate() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(CALIBRATION_PASSWORD);
+        
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        
+        int cost = minStrength;
+        long estimate = best;
+        while (cost < maxStrength && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            cost++;
+        }
+        log.info("bcrypt calibration: cost {} takes {} ms, target {} ms", 
+            minStrength, TimeUnit.NANOSECONDS.toMillis(best), targetLatency.toMillis());
+        return cost;
+    }
+}
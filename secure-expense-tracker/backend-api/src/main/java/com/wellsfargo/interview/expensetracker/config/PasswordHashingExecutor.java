@@ -0,0 +1,55 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool with a bounded queue for bcrypt work
+ *
+ * Deliberately not an Executor, so it is never picked up as the application's
+ * general-purpose task executor.
+ */
+public class PasswordHashingExecutor {
+    
+    private final ThreadPoolExecutor executor;
+    
+    public PasswordHashingExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                // Not the web application's loader of the request thread that happened to start it
+                thread.setContextClassLoader(PasswordHashingExecutor.class.getClassLoader());
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Run the task on the pool
+     *
+     * @throws RejectedExecutionException if every thread is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+    
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+    
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
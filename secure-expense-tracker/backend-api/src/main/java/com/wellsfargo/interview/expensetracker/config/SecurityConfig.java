@@ -0,0 +1,77 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.monitoring.UserIdHasher;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import com.wellsfargo.interview.expensetracker.service.UserSnapshotService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Stateless JWT security configuration
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    private UserSnapshotService userSnapshotService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private UserIdHasher userIdHasher;
+    
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .csrf(AbstractHttpConfigurer::disable)
+            .httpBasic(AbstractHttpConfigurer::disable)
+            .formLogin(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
+            .authorizeHttpRequests(auth -> auth
+                // Async (streamed export) and error dispatches follow a request that was already authorized;
+                // the stateless context is not carried over to them
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                .requestMatchers(
+                    antMatcher("/api/auth/**"),
+                    antMatcher("/swagger-ui/**"),
+                    antMatcher("/swagger-ui.html"),
+                    antMatcher("/v3/api-docs/**"),
+                    antMatcher("/actuator/health"),
+                    antMatcher("/h2-console/**")
+                ).permitAll()
+                .anyRequest().authenticated())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, userSnapshotService, 
+                cacheManager.getCache(CacheConfig.VERIFIED_TOKENS), userIdHasher), UsernamePasswordAuthenticationFilter.class);
+        
+        return http.build();
+    }
+    
+    @Bean
+    public UserDetailsService userDetailsService(UserRepository userRepository) {
+        return username -> userRepository.findByUsername(username)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+}
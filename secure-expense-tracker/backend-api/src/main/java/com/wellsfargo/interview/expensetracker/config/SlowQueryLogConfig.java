@@ -0,0 +1,40 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.monitoring.SlowQueryLogger;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource in a proxy that logs slow statements
+ *
+ * The proxy unwraps to the pool, so pool metrics and health checks are unaffected.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfig {
+    
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    Duration threshold = environment.getProperty("app.sql.slow-query.threshold", Duration.class,
+                        Duration.ofMillis(500));
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new SlowQueryLogger(threshold))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
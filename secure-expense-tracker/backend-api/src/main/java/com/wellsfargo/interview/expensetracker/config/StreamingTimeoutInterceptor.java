@@ -0,0 +1,45 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives streamed responses (the export) their own async timeout
+ *
+ * The container's default async timeout is sized for short async handlers such as login;
+ * a large export would be cut off mid-stream by it. Runs before the async context is
+ * started, so the timeout set here is the one the container applies.
+ */
+public class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+    
+    private final Duration timeout;
+    
+    public StreamingTimeoutInterceptor(Duration timeout) {
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (request instanceof AsyncWebRequest asyncRequest 
+                && handler instanceof HandlerMethod handlerMethod && isStreaming(handlerMethod)) {
+            // Zero or negative disables the timeout
+            asyncRequest.setTimeout(timeout.isNegative() || timeout.isZero() ? -1L : timeout.toMillis());
+        }
+    }
+    
+    private static boolean isStreaming(HandlerMethod handlerMethod) {
+        ResolvableType returnType = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+        return StreamingResponseBody.class.isAssignableFrom(returnType.toClass())
+            || StreamingResponseBody.class.isAssignableFrom(returnType.getGeneric(0).toClass());
+    }
+}
@@ -0,0 +1,78 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs request handling, async and scheduled work on virtual threads
+ *
+ * Enabled with app.threads.virtual=true and requires a Java 21 runtime. The source
+ * still targets Java 17, so the virtual thread API is looked up reflectively.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newThreadPerTaskExecutor(virtualThreadFactory("http-vt-"));
+        log.info("Handling HTTP requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+    
+    /**
+     * Replaces Boot's pooled executor used for @Async methods and async MVC requests
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newThreadPerTaskExecutor(virtualThreadFactory("task-vt-")));
+    }
+    
+    /**
+     * Scheduler whose triggers fire on virtual threads
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadFactory(virtualThreadFactory("scheduling-vt-"));
+        scheduler.setPoolSize(4);
+        return scheduler;
+    }
+    
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual requires Java 21 or later, running on " 
+                + Runtime.version(), e);
+        }
+    }
+    
+    static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual requires Java 21 or later, running on " 
+                + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.wellsfargo.interview.expensetracker.config;
+
+import com.wellsfargo.interview.expensetracker.monitoring.RequestCostCallableInterceptor;
+import com.wellsfargo.interview.expensetracker.monitoring.StatementBudgetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Spring MVC configuration
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private StatementBudgetInterceptor statementBudgetInterceptor;
+    
+    @Value("${app.transactions.export.timeout:30m}")
+    private Duration exportTimeout;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(statementBudgetInterceptor);
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(
+            new RequestCostCallableInterceptor(), new StreamingTimeoutInterceptor(exportTimeout));
+    }
+}
@@ -0,0 +1,41 @@
+package com.wellsfargo.interview.expensetracker.controller;
+
+import com.wellsfargo.interview.expensetracker.dto.AuthResponse;
+import com.wellsfargo.interview.expensetracker.dto.LoginRequest;
+import com.wellsfargo.interview.expensetracker.dto.RegisterRequest;
+import com.wellsfargo.interview.expensetracker.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for registration and login
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Authentication", description = "User registration and login")
+public class AuthController {
+    
+    @Autowired
+    private UserService userService;
+    
+    @PostMapping("/register")
+    @Operation(summary = "Register a new user", description = "Creates an account and returns a JWT token")
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return userService.register(request)
+            .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+    
+    @PostMapping("/login")
+    @Operation(summary = "Log in", description = "Verifies credentials and returns a JWT token")
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return userService.login(request)
+            .thenApply(ResponseEntity::ok);
+    }
+}
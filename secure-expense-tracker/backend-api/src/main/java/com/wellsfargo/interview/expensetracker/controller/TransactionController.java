@@ -2,6 +2,8 @@ package com.wellsfargo.interview.expensetracker.controller;
 
 import com.wellsfargo.interview.expensetracker.dto.*;
 import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.monitoring.StatementBudget;
+import com.wellsfargo.interview.expensetracker.service.TransactionExportService;
 import com.wellsfargo.interview.expensetracker.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,14 +11,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -32,7 +38,17 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Value("${app.transactions.batch.max-size:1000}")
+    private int maxBatchSize;
+    
+    @Value("${app.transactions.cursor.max-size:100}")
+    private int maxCursorPageSize;
+    
     @PostMapping
+    @StatementBudget(15)
     @Operation(summary = "Create a new transaction", description = "Creates a new expense transaction with encrypted description")
     public ResponseEntity<TransactionResponse> createTransaction(
             @AuthenticationPrincipal User user,
@@ -42,26 +58,136 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping("/batch")
+    // Grows with the batch: an id fetch and an insert per JDBC batch of 50 rows, and up to three
+    // per month and category touched; sized for a full batch across a year of five categories
+    @StatementBudget(250)
+    @Operation(summary = "Create transactions in batch", 
+               description = "Creates many transactions at once and reports a result per item")
+    public ResponseEntity<BatchTransactionResponse> createTransactions(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody BatchTransactionRequest request) {
+        
+        if (request.getTransactions().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        BatchTransactionResponse response = transactionService.createTransactions(user, request.getTransactions());
+        HttpStatus status = response.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+    
     @GetMapping
+    @StatementBudget(3)
     @Operation(summary = "Get transactions", description = "Retrieve transactions with optional filtering and pagination")
     public ResponseEntity<Page<TransactionResponse>> getTransactions(
             @AuthenticationPrincipal User user,
-            @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
+            @Parameter(description = "Filter by category ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Filter by category name prefix") @RequestParam(required = false) String category,
             @Parameter(description = "Start date filter (ISO format)") 
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "End date filter (ISO format)") 
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Comma-separated response fields (all when omitted)") 
+            @RequestParam(required = false) String fields) {
+        
+        TransactionFields transactionFields;
+        try {
+            transactionFields = TransactionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         
         Pageable pageable = PageRequest.of(page, size);
         Page<TransactionResponse> transactions = transactionService.getTransactions(
-            user, category, startDate, endDate, pageable);
+            user, categoryId, category, startDate, endDate, pageable, transactionFields);
+        
+        return ResponseEntity.ok(transactions);
+    }
+    
+    @GetMapping(params = "cursor")
+    @StatementBudget(2)
+    @Operation(summary = "Get transactions by cursor", 
+               description = "Retrieve transactions with keyset pagination; pass an empty cursor for the first page, then nextCursor")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getTransactionsByCursor(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Filter by category ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Filter by category name prefix") @RequestParam(required = false) String category,
+            @Parameter(description = "Start date filter (ISO format)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date filter (ISO format)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Parameter(description = "Page size (at most 100 by default)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Comma-separated response fields (all when omitted)") 
+            @RequestParam(required = false) String fields) {
+        
+        TransactionCursor after;
+        try {
+            after = TransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        if (size < 1 || size > maxCursorPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        TransactionFields transactionFields;
+        try {
+            transactionFields = TransactionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        CursorPageResponse<TransactionResponse> transactions = transactionService.getTransactionsAfter(
+            user, categoryId, category, startDate, endDate, after, size, transactionFields);
         
         return ResponseEntity.ok(transactions);
     }
     
+    @GetMapping("/export")
+    @StatementBudget(2)
+    @Operation(summary = "Export transactions", 
+               description = "Stream the full filtered transaction history as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Export format (csv or ndjson)") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by category ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Filter by category name prefix") @RequestParam(required = false) String category,
+            @Parameter(description = "Start date filter (ISO format)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date filter (ISO format)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Comma-separated response fields (all when omitted)") 
+            @RequestParam(required = false) String fields) {
+        
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        TransactionFields transactionFields;
+        try {
+            transactionFields = TransactionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> transactionExportService.exportTransactions(
+            user, categoryId, category, startDate, endDate, exportFormat, transactionFields, outputStream);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, 
+                "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+    
     @GetMapping("/{id}")
+    @StatementBudget(2)
     @Operation(summary = "Get transaction by ID", description = "Retrieve a specific transaction by its ID")
     public ResponseEntity<TransactionResponse> getTransactionById(
             @AuthenticationPrincipal User user,
@@ -73,6 +199,7 @@ public class TransactionController {
     }
     
     @PutMapping("/{id}")
+    @StatementBudget(8)
     @Operation(summary = "Update transaction", description = "Update an existing transaction")
     public ResponseEntity<TransactionResponse> updateTransaction(
             @AuthenticationPrincipal User user,
@@ -85,6 +212,7 @@ public class TransactionController {
     }
     
     @DeleteMapping("/{id}")
+    @StatementBudget(6)
     @Operation(summary = "Delete transaction", description = "Delete a transaction by ID")
     public ResponseEntity<Void> deleteTransaction(
             @AuthenticationPrincipal User user,
@@ -94,14 +222,57 @@ public class TransactionController {
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
     
+    @PostMapping("/bulk-delete")
+    // One rollup update per month and category touched; sized for deletions across a year of five categories
+    @StatementBudget(64)
+    @Operation(summary = "Delete transactions in bulk", description = "Delete many transactions by ID in one statement")
+    public ResponseEntity<BulkOperationResponse> deleteTransactions(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody BulkDeleteRequest request) {
+        
+        if (request.getIds().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        int deleted = transactionService.deleteTransactions(user, request.getIds());
+        return ResponseEntity.ok(new BulkOperationResponse(deleted));
+    }
+    
+    @PostMapping("/recategorize")
+    // Moves up to four rollup rows per month; sized for a category's full year
+    @StatementBudget(51)
+    @Operation(summary = "Recategorize transactions", 
+               description = "Move every transaction of a category, optionally within a date range, to another category")
+    public ResponseEntity<BulkOperationResponse> recategorizeTransactions(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody RecategorizeRequest request) {
+        
+        int updated = transactionService.recategorizeTransactions(user, request.getCategory(), 
+            request.getStartDate(), request.getEndDate(), request.getNewCategory());
+        return ResponseEntity.ok(new BulkOperationResponse(updated));
+    }
+    
     @GetMapping("/stats")
+    @StatementBudget(3)
     @Operation(summary = "Get user statistics", description = "Retrieve spending statistics for the authenticated user")
-    public ResponseEntity<UserStatsResponse> getUserStats(@AuthenticationPrincipal User user) {
+    public ResponseEntity<UserStatsResponse> getUserStats(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Comma-separated fields of the recent transactions (all when omitted)") 
+            @RequestParam(required = false) String fields) {
+        
+        // Only validated here; TransactionFieldsAdvice leaves out the fields not requested
+        try {
+            TransactionFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         UserStatsResponse stats = transactionService.getUserStats(user);
         return ResponseEntity.ok(stats);
     }
     
     @GetMapping("/reports/monthly")
+    @StatementBudget(3)
     @Operation(summary = "Generate monthly report", description = "Generate a detailed monthly spending report")
     public ResponseEntity<MonthlyReportResponse> getMonthlyReport(
             @AuthenticationPrincipal User user,
@@ -0,0 +1,48 @@
+package com.wellsfargo.interview.expensetracker.controller;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Serializes only the transaction fields requested with {@code fields=} on endpoints that accept it
+ */
+@ControllerAdvice(assignableTypes = TransactionController.class)
+public class TransactionFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    
+    private static final String FIELDS_PARAMETER = "fields";
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Method method = returnType.getMethod();
+        return super.supports(returnType, converterType) && method != null 
+            && Arrays.stream(method.getParameters()).anyMatch(parameter -> 
+                parameter.isAnnotationPresent(RequestParam.class) && FIELDS_PARAMETER.equals(parameter.getName()));
+    }
+    
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request, 
+                                           ServerHttpResponse response) {
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FIELDS_PARAMETER);
+        try {
+            TransactionFields transactionFields = TransactionFields.parse(fields);
+            if (!transactionFields.isAll()) {
+                bodyContainer.setFilters(transactionFields.toFilterProvider());
+            }
+        } catch (IllegalArgumentException e) {
+            // Rejected by the controller; the error body has no transaction fields
+        }
+    }
+}
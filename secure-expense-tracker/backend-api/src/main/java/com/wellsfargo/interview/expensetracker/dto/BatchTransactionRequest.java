@@ -0,0 +1,31 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for creating many transactions in one request
+ * Items are validated individually so one bad row does not reject the batch
+ */
+public class BatchTransactionRequest {
+    
+    @NotEmpty(message = "At least one transaction is required")
+    private List<TransactionRequest> transactions;
+    
+    // Constructors
+    public BatchTransactionRequest() {}
+    
+    public BatchTransactionRequest(List<TransactionRequest> transactions) {
+        this.transactions = transactions;
+    }
+    
+    // Getters and Setters
+    public List<TransactionRequest> getTransactions() {
+        return transactions;
+    }
+    
+    public void setTransactions(List<TransactionRequest> transactions) {
+        this.transactions = transactions;
+    }
+}
@@ -0,0 +1,117 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for batch transaction results, one entry per submitted item in request order
+ */
+public class BatchTransactionResponse {
+    
+    private int received;
+    private int created;
+    private int rejected;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    // Constructors
+    public BatchTransactionResponse() {}
+    
+    public BatchTransactionResponse(List<ItemResult> results) {
+        this.results = results;
+        this.received = results.size();
+        this.created = (int) results.stream().filter(result -> result.getId() != null).count();
+        this.rejected = received - created;
+    }
+    
+    // Inner class for a single item outcome
+    public static class ItemResult {
+        private int index;
+        private String status;
+        private Long id;
+        private List<String> errors;
+        
+        public ItemResult() {}
+        
+        public static ItemResult created(int index, Long id) {
+            ItemResult result = new ItemResult();
+            result.index = index;
+            result.status = "CREATED";
+            result.id = id;
+            return result;
+        }
+        
+        public static ItemResult rejected(int index, List<String> errors) {
+            ItemResult result = new ItemResult();
+            result.index = index;
+            result.status = "REJECTED";
+            result.errors = errors;
+            return result;
+        }
+        
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+        
+        public void setIndex(int index) {
+            this.index = index;
+        }
+        
+        public String getStatus() {
+            return status;
+        }
+        
+        public void setStatus(String status) {
+            this.status = status;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public List<String> getErrors() {
+            return errors;
+        }
+        
+        public void setErrors(List<String> errors) {
+            this.errors = errors;
+        }
+    }
+    
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<ItemResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+}
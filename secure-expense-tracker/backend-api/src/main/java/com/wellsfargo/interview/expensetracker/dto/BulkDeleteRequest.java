@@ -0,0 +1,30 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for deleting many transactions by ID
+ */
+public class BulkDeleteRequest {
+    
+    @NotEmpty(message = "At least one transaction ID is required")
+    private List<Long> ids;
+    
+    // Constructors
+    public BulkDeleteRequest() {}
+    
+    public BulkDeleteRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,25 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+/**
+ * DTO for the result of a set-based bulk operation
+ */
+public class BulkOperationResponse {
+    
+    private int affected;
+    
+    // Constructors
+    public BulkOperationResponse() {}
+    
+    public BulkOperationResponse(int affected) {
+        this.affected = affected;
+    }
+    
+    // Getters and Setters
+    public int getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
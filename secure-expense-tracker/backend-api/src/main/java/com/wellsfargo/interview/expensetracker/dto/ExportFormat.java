@@ -0,0 +1,40 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+/**
+ * Supported formats for transaction export
+ */
+public enum ExportFormat {
+    
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String extension;
+    
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    /**
+     * Resolve a format by name, case-insensitively
+     *
+     * @return the format, or null if unsupported
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
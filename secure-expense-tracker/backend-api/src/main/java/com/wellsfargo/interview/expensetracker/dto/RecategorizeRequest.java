@@ -0,0 +1,66 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for moving every transaction of one category, optionally within a date range, to another category
+ */
+public class RecategorizeRequest {
+    
+    @NotBlank(message = "Category is required")
+    private String category;
+    
+    @NotBlank(message = "New category is required")
+    @Size(max = 100, message = "Category must not exceed 100 characters")
+    private String newCategory;
+    
+    private LocalDateTime startDate;
+    
+    private LocalDateTime endDate;
+    
+    // Constructors
+    public RecategorizeRequest() {}
+    
+    public RecategorizeRequest(String category, String newCategory, LocalDateTime startDate, LocalDateTime endDate) {
+        this.category = category;
+        this.newCategory = newCategory;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+    
+    // Getters and Setters
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public String getNewCategory() {
+        return newCategory;
+    }
+    
+    public void setNewCategory(String newCategory) {
+        this.newCategory = newCategory;
+    }
+    
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+}
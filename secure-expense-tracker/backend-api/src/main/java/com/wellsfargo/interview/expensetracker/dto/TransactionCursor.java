@@ -0,0 +1,61 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (transaction date, id) for cursor pagination
+ */
+public class TransactionCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime transactionDate;
+    private final Long id;
+    
+    public TransactionCursor(LocalDateTime transactionDate, Long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+    
+    /**
+     * Decode a cursor previously returned as nextCursor
+     *
+     * @return the position, or null for an empty cursor (first page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TransactionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(
+                LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    public String encode() {
+        String raw = transactionDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Getters
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,93 @@
+package com.wellsfargo.interview.expensetracker.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse fieldset of a transaction response, as requested with {@code fields=amount,category,...}
+ *
+ * Fields left out are not serialized; without the description, its columns are not selected
+ * and nothing is decrypted.
+ */
+public class TransactionFields {
+    
+    public static final String ID = "id";
+    public static final String AMOUNT = "amount";
+    public static final String CATEGORY = "category";
+    public static final String DESCRIPTION = "description";
+    public static final String TRANSACTION_DATE = "transactionDate";
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    
+    // Response property order, also used for CSV columns
+    private static final List<String> NAMES = List.of(
+        ID, AMOUNT, CATEGORY, DESCRIPTION, TRANSACTION_DATE, CREATED_AT, UPDATED_AT);
+    
+    public static final TransactionFields ALL = new TransactionFields(NAMES);
+    
+    private final List<String> names;
+    
+    private TransactionFields(List<String> names) {
+        this.names = names;
+    }
+    
+    /**
+     * Parse a comma-separated list of field names
+     *
+     * @return the requested fields, or all fields for a missing or blank list
+     * @throws IllegalArgumentException if a name is not a transaction field
+     */
+    public static TransactionFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        
+        Set<String> requested = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!NAMES.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed);
+            }
+            requested.add(trimmed);
+        }
+        
+        if (requested.size() == NAMES.size()) {
+            return ALL;
+        }
+        return new TransactionFields(NAMES.stream().filter(requested::contains).toList());
+    }
+    
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+    
+    public boolean includesDescription() {
+        return includes(DESCRIPTION);
+    }
+    
+    public boolean isAll() {
+        return names.size() == NAMES.size();
+    }
+    
+    /**
+     * Requested field names in response property order
+     */
+    public List<String> getNames() {
+        return names;
+    }
+    
+    /**
+     * Jackson filters serializing only the requested fields of {@link TransactionResponse}
+     */
+    public FilterProvider toFilterProvider() {
+        SimpleBeanPropertyFilter filter = isAll()
+            ? SimpleBeanPropertyFilter.serializeAll()
+            : SimpleBeanPropertyFilter.filterOutAllExcept(Set.copyOf(names));
+        return new SimpleFilterProvider().addFilter(TransactionResponse.FIELD_FILTER, filter);
+    }
+}
@@ -1,13 +1,20 @@
 package com.wellsfargo.interview.expensetracker.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * DTO for transaction responses
  */
+@JsonFilter(TransactionResponse.FIELD_FILTER)
 public class TransactionResponse {
     
+    // Jackson filter id narrowing the serialized properties to a TransactionFields selection
+    public static final String FIELD_FILTER = "transactionFields";
+    
     private Long id;
     private BigDecimal amount;
     private String category;
@@ -16,6 +23,9 @@ public class TransactionResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    // Set by query projections until the description is decrypted; never serialized
+    private byte[] descriptionCiphertext;
+    
     // Constructors
     public TransactionResponse() {}
     
@@ -30,6 +40,25 @@ public class TransactionResponse {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * Query projection; the description is still encrypted, either as ciphertext or in its
+     * legacy Base64 form for rows not yet backfilled
+     */
+    public TransactionResponse(Long id, BigDecimal amount, String category, byte[] descriptionCiphertext,
+                              String legacyEncryptedDescription, LocalDateTime transactionDate,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, amount, category, legacyEncryptedDescription, transactionDate, createdAt, updatedAt);
+        this.descriptionCiphertext = descriptionCiphertext;
+    }
+    
+    /**
+     * Query projection without the description columns, for callers that did not request it
+     */
+    public TransactionResponse(Long id, BigDecimal amount, String category, LocalDateTime transactionDate,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, amount, category, null, transactionDate, createdAt, updatedAt);
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -86,4 +115,13 @@ public class TransactionResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    @JsonIgnore
+    public byte[] getDescriptionCiphertext() {
+        return descriptionCiphertext;
+    }
+    
+    public void setDescriptionCiphertext(byte[] descriptionCiphertext) {
+        this.descriptionCiphertext = descriptionCiphertext;
+    }
 }
@@ -1,17 +1,23 @@
 package com.wellsfargo.interview.expensetracker.entity;
 
+import com.wellsfargo.interview.expensetracker.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Category entity for expense categorization
  */
 @Entity
-@Table(name = "categories", indexes = {
-    @Index(name = "idx_user_category", columnList = "user_id, name"),
+@Table(name = "categories", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_category", columnNames = {"user_id", "name"})
+}, indexes = {
     @Index(name = "idx_default_category", columnList = "is_default")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_REGION)
+@EntityListeners(CategoryEntityListener.class)
 public class Category {
     
     @Id
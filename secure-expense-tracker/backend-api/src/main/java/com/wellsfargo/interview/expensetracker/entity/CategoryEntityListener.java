@@ -0,0 +1,27 @@
+package com.wellsfargo.interview.expensetracker.entity;
+
+import com.wellsfargo.interview.expensetracker.service.CategoryChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link CategoryChangedEvent} for every category written through the entity manager
+ */
+public class CategoryEntityListener {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Category category) {
+        Long userId = Boolean.TRUE.equals(category.getIsDefault()) || category.getUser() == null
+            ? null
+            : category.getUser().getId();
+        eventPublisher.publishEvent(new CategoryChangedEvent(userId));
+    }
+}
@@ -0,0 +1,104 @@
+package com.wellsfargo.interview.expensetracker.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Monthly spending rollup per user and category, maintained alongside transaction writes
+ */
+@Entity
+@Table(name = "spending_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_bucket", columnNames = {"user_id", "`year`", "`month`", "category"})
+})
+public class SpendingRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "`year`", nullable = false)
+    private Integer year;
+    
+    @Column(name = "`month`", nullable = false)
+    private Integer month;
+    
+    @Column(nullable = false, length = 100)
+    private String category;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+    
+    @Column(name = "`count`", nullable = false)
+    private Long count = 0L;
+    
+    // Constructors
+    public SpendingRollup() {}
+    
+    public SpendingRollup(Long userId, Integer year, Integer month, String category) {
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+        this.category = category;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Integer getYear() {
+        return year;
+    }
+    
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+    
+    public Integer getMonth() {
+        return month;
+    }
+    
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public BigDecimal getTotal() {
+        return total;
+    }
+    
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+    
+    public Long getCount() {
+        return count;
+    }
+    
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -14,14 +14,16 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "transactions", indexes = {
-    @Index(name = "idx_user_date", columnList = "user_id, transaction_date"),
+    @Index(name = "idx_user_date", columnList = "user_id, transaction_date, id"),
     @Index(name = "idx_category", columnList = "category"),
+    @Index(name = "idx_user_category_id_date", columnList = "user_id, category_id, transaction_date"),
     @Index(name = "idx_date", columnList = "transaction_date")
 })
 public class Transaction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Amount is required")
@@ -34,6 +36,15 @@ public class Transaction {
     @Column(nullable = false, length = 100)
     private String category;
     
+    // Dictionary-encoded category; null only for rows not yet backfilled
+    @Column(name = "category_id")
+    private Long categoryId;
+    
+    // AES ciphertext of the description, stored inline; 500 characters encrypt to at most 2016 bytes
+    @Column(name = "description_ciphertext", length = 2048)
+    private byte[] descriptionCiphertext;
+    
+    // Legacy Base64 ciphertext; null once backfilled into descriptionCiphertext
     @Lob
     @Column(name = "encrypted_description")
     private String encryptedDescription;
@@ -95,6 +106,22 @@ public class Transaction {
         this.category = category;
     }
     
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public byte[] getDescriptionCiphertext() {
+        return descriptionCiphertext;
+    }
+    
+    public void setDescriptionCiphertext(byte[] descriptionCiphertext) {
+        this.descriptionCiphertext = descriptionCiphertext;
+    }
+    
     public String getEncryptedDescription() {
         return encryptedDescription;
     }
@@ -1,8 +1,11 @@
 package com.wellsfargo.interview.expensetracker.entity;
 
+import com.wellsfargo.interview.expensetracker.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -18,6 +21,8 @@ import java.util.List;
 @Table(name = "users", indexes = {
     @Index(name = "idx_username", columnList = "username", unique = true)
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
+@EntityListeners(UserEntityListener.class)
 public class User implements UserDetails {
     
     @Id
@@ -98,14 +103,12 @@ public class User implements UserDetails {
     }
     
     // Business methods
-    public void incrementFailedAttempts() {
-        this.failedAttempts++;
-        if (this.failedAttempts >= 3) {
-            this.lockedUntil = LocalDateTime.now().plusMinutes(30);
-        }
+    public void lock(LocalDateTime until, int attempts) {
+        this.failedAttempts = attempts;
+        this.lockedUntil = until;
     }
     
-    public void resetFailedAttempts() {
+    public void unlock() {
         this.failedAttempts = 0;
         this.lockedUntil = null;
     }
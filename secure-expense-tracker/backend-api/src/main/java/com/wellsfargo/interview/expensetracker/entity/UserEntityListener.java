@@ -0,0 +1,22 @@
+package com.wellsfargo.interview.expensetracker.entity;
+
+import com.wellsfargo.interview.expensetracker.service.UserChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link UserChangedEvent} for every user updated or removed through the entity manager
+ */
+public class UserEntityListener {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
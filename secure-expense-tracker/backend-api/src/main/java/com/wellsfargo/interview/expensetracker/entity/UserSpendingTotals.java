@@ -0,0 +1,56 @@
+package com.wellsfargo.interview.expensetracker.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Running spending totals per user, maintained alongside transaction writes
+ * Kept apart from the users row so login bookkeeping and spending writes do not contend
+ */
+@Entity
+@Table(name = "user_spending_totals")
+public class UserSpendingTotals {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_spent", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+    
+    // Constructors
+    public UserSpendingTotals() {}
+    
+    public UserSpendingTotals(Long userId) {
+        this.userId = userId;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+    
+    public void setTotalSpent(BigDecimal totalSpent) {
+        this.totalSpent = totalSpent;
+    }
+    
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(Long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
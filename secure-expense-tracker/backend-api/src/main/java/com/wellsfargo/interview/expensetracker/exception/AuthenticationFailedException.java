@@ -0,0 +1,11 @@
+package com.wellsfargo.interview.expensetracker.exception;
+
+/**
+ * Thrown when a login fails, without revealing whether the username exists
+ */
+public class AuthenticationFailedException extends RuntimeException {
+    
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+}
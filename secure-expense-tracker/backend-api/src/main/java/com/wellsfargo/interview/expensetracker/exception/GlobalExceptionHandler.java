@@ -0,0 +1,46 @@
+package com.wellsfargo.interview.expensetracker.exception;
+
+import com.wellsfargo.interview.expensetracker.dto.AuthResponse;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Maps service exceptions to HTTP responses
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    
+    @ExceptionHandler(AuthenticationFailedException.class)
+    public ResponseEntity<AuthResponse> handleAuthenticationFailed(AuthenticationFailedException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new AuthResponse(e.getMessage()));
+    }
+    
+    @ExceptionHandler(UsernameAlreadyExistsException.class)
+    public ResponseEntity<AuthResponse> handleUsernameAlreadyExists(UsernameAlreadyExistsException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new AuthResponse("Username already exists"));
+    }
+    
+    /**
+     * A bulk write that raced a concurrent change (or lost a lock wait) was rolled back and can be retried
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Void> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    
+    /**
+     * A saturated worker pool sheds load immediately rather than queueing without bound
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build();
+    }
+}
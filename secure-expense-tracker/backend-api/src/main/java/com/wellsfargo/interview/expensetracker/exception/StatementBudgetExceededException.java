@@ -0,0 +1,11 @@
+package com.wellsfargo.interview.expensetracker.exception;
+
+/**
+ * A request ran more SQL statements than its endpoint's budget allows (strict mode only)
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+    
+    public StatementBudgetExceededException(long statements, int budget) {
+        super("Request ran " + statements + " SQL statements, budget is " + budget);
+    }
+}
@@ -0,0 +1,11 @@
+package com.wellsfargo.interview.expensetracker.exception;
+
+/**
+ * Thrown when registering a username that is already taken
+ */
+public class UsernameAlreadyExistsException extends RuntimeException {
+    
+    public UsernameAlreadyExistsException(String username) {
+        super("Username already exists: " + username);
+    }
+}
@@ -0,0 +1,114 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits JFR events for transaction service and repository calls, and counts rows fetched
+ *
+ * Service events carry the rows, decrypted bytes and SQL statements accumulated in the
+ * request while the call ran. Nothing is captured beyond the row count unless the
+ * corresponding event is enabled in the running recording.
+ */
+@Aspect
+@Component
+public class CostEventAspect {
+    
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    
+    @Around("execution(public * com.wellsfargo.interview.expensetracker.service.TransactionService.*(..)) || "
+        + "execution(public * com.wellsfargo.interview.expensetracker.service.TransactionExportService.*(..))")
+    public Object serviceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestCost cost = RequestCost.current();
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (cost == null || !event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        long rowsBefore = cost.getRowsFetched();
+        long bytesBefore = cost.getBytesDecrypted();
+        long statementsBefore = cost.getSqlStatements();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.requestId = cost.getRequestId();
+                event.userIdHash = cost.getUserIdHash();
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.rowsFetched = cost.getRowsFetched() - rowsBefore;
+                event.bytesDecrypted = cost.getBytesDecrypted() - bytesBefore;
+                event.sqlStatements = cost.getSqlStatements() - statementsBefore;
+                event.commit();
+            }
+        }
+    }
+    
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object repositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestCost cost = RequestCost.current();
+        if (cost == null) {
+            return joinPoint.proceed();
+        }
+        
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        long statementsBefore = cost.getSqlStatements();
+        event.begin();
+        Object result = joinPoint.proceed();
+        event.end();
+        
+        String method = joinPoint.getSignature().getName();
+        long rows = rowCount(method, result);
+        RequestCost.addRowsFetched(rows);
+        
+        if (event.shouldCommit()) {
+            event.requestId = cost.getRequestId();
+            event.repository = repositoryName(joinPoint.getThis());
+            event.method = method;
+            event.rowsFetched = rows;
+            event.sqlStatements = cost.getSqlStatements() - statementsBefore;
+            event.commit();
+        }
+        return result;
+    }
+    
+    /**
+     * Rows a read returned; writes, counts and streams (counted by their consumer) return none
+     */
+    private static long rowCount(String method, Object result) {
+        if (result == null || method.startsWith("save") || method.startsWith("delete")) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof java.util.stream.BaseStream) {
+            return 0;
+        }
+        return 1;
+    }
+    
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(proxy);
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSimpleName();
+        });
+    }
+}
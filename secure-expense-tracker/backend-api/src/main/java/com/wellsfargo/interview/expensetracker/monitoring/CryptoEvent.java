@@ -0,0 +1,33 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a batch encryption or decryption
+ */
+@Name("expensetracker.Crypto")
+@Label("Crypto Batch")
+@Description("Batch of values encrypted or decrypted by the encryption service")
+@Category("Expense Tracker")
+@StackTrace(false)
+public class CryptoEvent extends Event {
+    
+    @Label("Request Id")
+    public String requestId;
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Values")
+    public int values;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
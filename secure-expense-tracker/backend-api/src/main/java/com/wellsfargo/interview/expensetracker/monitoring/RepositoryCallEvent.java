@@ -0,0 +1,34 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one repository method call
+ */
+@Name("expensetracker.RepositoryCall")
+@Label("Repository Call")
+@Description("Spring Data repository method with the rows it returned and SQL statements it ran")
+@Category("Expense Tracker")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+    
+    @Label("Request Id")
+    String requestId;
+    
+    @Label("Repository")
+    String repository;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Rows Fetched")
+    long rowsFetched;
+    
+    @Label("SQL Statements")
+    long sqlStatements;
+}
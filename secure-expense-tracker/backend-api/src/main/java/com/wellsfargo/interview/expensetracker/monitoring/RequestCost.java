@@ -0,0 +1,126 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import com.wellsfargo.interview.expensetracker.exception.StatementBudgetExceededException;
+
+/**
+ * Cost accumulated by the current HTTP request
+ *
+ * Bound to the request thread by {@link RequestCostFilter}. Outside a request (scheduled
+ * jobs, async password hashing) there is no current cost and updates are ignored.
+ */
+public final class RequestCost {
+    
+    static final String REQUEST_ATTRIBUTE = RequestCost.class.getName();
+    
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+    
+    private final String requestId;
+    private String userIdHash = "";
+    private long rowsFetched;
+    private long bytesDecrypted;
+    private long sqlStatements;
+    private int statementBudget;
+    private boolean strictBudget;
+    
+    private RequestCost(String requestId) {
+        this.requestId = requestId;
+    }
+    
+    static RequestCost start(String requestId) {
+        RequestCost cost = new RequestCost(requestId);
+        CURRENT.set(cost);
+        return cost;
+    }
+    
+    /**
+     * Continue a request's cost on another thread, e.g. for a streamed response
+     */
+    static void resume(RequestCost cost) {
+        CURRENT.set(cost);
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * @return the current request's cost, or null outside a request
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * @param userIdHash the authenticated user's id as hashed by {@link UserIdHasher}
+     */
+    public static void setUserIdHash(String userIdHash) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.userIdHash = userIdHash;
+        }
+    }
+    
+    public static void addRowsFetched(long rows) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.rowsFetched += rows;
+        }
+    }
+    
+    public static void addBytesDecrypted(long bytes) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.bytesDecrypted += bytes;
+        }
+    }
+    
+    /**
+     * @throws StatementBudgetExceededException once, for the statement crossing a strict budget
+     */
+    public static void addSqlStatement() {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.sqlStatements++;
+            if (cost.strictBudget && cost.isOverBudget()) {
+                cost.strictBudget = false;
+                throw new StatementBudgetExceededException(cost.sqlStatements, cost.statementBudget);
+            }
+        }
+    }
+    
+    static void setStatementBudget(int budget, boolean strict) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.statementBudget = budget;
+            cost.strictBudget = strict;
+        }
+    }
+    
+    public String getRequestId() {
+        return requestId;
+    }
+    
+    public String getUserIdHash() {
+        return userIdHash;
+    }
+    
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+    
+    public long getBytesDecrypted() {
+        return bytesDecrypted;
+    }
+    
+    public long getSqlStatements() {
+        return sqlStatements;
+    }
+    
+    public int getStatementBudget() {
+        return statementBudget;
+    }
+    
+    public boolean isOverBudget() {
+        return statementBudget > 0 && sqlStatements > statementBudget;
+    }
+}
@@ -0,0 +1,29 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's cost over to the thread running an async handler result
+ *
+ * Streamed responses (the export) run their queries on an MVC async thread; without this
+ * their statements and rows would not be attributed to the request.
+ */
+public class RequestCostCallableInterceptor implements CallableProcessingInterceptor {
+    
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object cost = request.getAttribute(RequestCost.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cost instanceof RequestCost requestCost) {
+            RequestCost.resume(requestCost);
+        }
+    }
+    
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestCost.end();
+    }
+}
@@ -0,0 +1,46 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one HTTP request and everything it cost
+ */
+@Name("expensetracker.Request")
+@Label("Request Cost")
+@Description("HTTP request with the rows, decrypted bytes and SQL statements it caused")
+@Category("Expense Tracker")
+@StackTrace(false)
+class RequestCostEvent extends Event {
+    
+    @Label("Request Id")
+    String requestId;
+    
+    @Label("User Id Hash")
+    String userIdHash;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Endpoint")
+    @Description("Matched route template, e.g. /api/transactions/{id}")
+    String endpoint;
+    
+    @Label("Status")
+    int status;
+    
+    @Label("Rows Fetched")
+    long rowsFetched;
+    
+    @Label("Bytes Decrypted")
+    @DataAmount
+    long bytesDecrypted;
+    
+    @Label("SQL Statements")
+    long sqlStatements;
+}
@@ -0,0 +1,192 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import com.wellsfargo.interview.expensetracker.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns each request an id and records its cost as a JFR event and metrics
+ *
+ * Runs ahead of the security filters so authentication work is attributed to the request.
+ * A well-formed X-Request-Id from the caller is kept, otherwise one is generated; either
+ * way it is echoed in the response and put in the logging MDC.
+ *
+ * The SQL statement count is recorded per endpoint, checked against the endpoint's
+ * {@link StatementBudget} and, in development, returned in X-SQL-Statement-Count (as
+ * counted when the response starts, so statements after that are only in the metric).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCostFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(RequestCostFilter.class);
+    
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.sql.statement-count-header:false}")
+    private boolean statementCountHeader;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        
+        RequestCost cost = RequestCost.start(requestId);
+        request.setAttribute(RequestCost.REQUEST_ATTRIBUTE, cost);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        StatementCountResponse countingResponse = statementCountHeader ? new StatementCountResponse(response, cost) : null;
+        RequestCostEvent event = new RequestCostEvent();
+        event.begin();
+        try {
+            filterChain.doFilter(request, countingResponse != null ? countingResponse : response);
+        } finally {
+            RequestCost.end();
+            MDC.remove(REQUEST_ID_MDC_KEY);
+            
+            if (request.isAsyncStarted()) {
+                // Completed on another thread; record once the response is final
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent asyncEvent) {
+                        complete(event, cost, request, response);
+                    }
+                    
+                    @Override
+                    public void onTimeout(AsyncEvent asyncEvent) {}
+                    
+                    @Override
+                    public void onError(AsyncEvent asyncEvent) {}
+                    
+                    @Override
+                    public void onStartAsync(AsyncEvent asyncEvent) {}
+                });
+            } else {
+                if (countingResponse != null) {
+                    countingResponse.addCountHeader();
+                }
+                complete(event, cost, request, response);
+            }
+        }
+    }
+    
+    private void complete(RequestCostEvent event, RequestCost cost, HttpServletRequest request, HttpServletResponse response) {
+        event.end();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "UNMATCHED";
+        
+        DistributionSummary.builder(MetricsConfig.SQL_STATEMENTS)
+            .description("SQL statements run by a request")
+            .tag("method", request.getMethod())
+            .tag("uri", endpoint)
+            .register(meterRegistry)
+            .record(cost.getSqlStatements());
+        if (cost.isOverBudget()) {
+            log.warn("{} {} ran {} SQL statements, budget is {} (request {})", request.getMethod(), endpoint,
+                cost.getSqlStatements(), cost.getStatementBudget(), cost.getRequestId());
+            Counter.builder(MetricsConfig.SQL_BUDGET_EXCEEDED)
+                .description("Requests that ran more SQL statements than their endpoint's budget")
+                .tag("method", request.getMethod())
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .increment();
+        }
+        
+        if (event.shouldCommit()) {
+            event.requestId = cost.getRequestId();
+            event.userIdHash = cost.getUserIdHash();
+            event.method = request.getMethod();
+            event.endpoint = endpoint;
+            event.status = response.getStatus();
+            event.rowsFetched = cost.getRowsFetched();
+            event.bytesDecrypted = cost.getBytesDecrypted();
+            event.sqlStatements = cost.getSqlStatements();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Adds the statement count header just before the response starts
+     */
+    private static class StatementCountResponse extends HttpServletResponseWrapper {
+        
+        private final RequestCost cost;
+        private boolean headerAdded;
+        
+        StatementCountResponse(HttpServletResponse response, RequestCost cost) {
+            super(response);
+            this.cost = cost;
+        }
+        
+        void addCountHeader() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                setHeader(STATEMENT_COUNT_HEADER, Long.toString(cost.getSqlStatements()));
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addCountHeader();
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            addCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
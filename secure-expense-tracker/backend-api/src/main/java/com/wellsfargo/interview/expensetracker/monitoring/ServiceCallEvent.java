@@ -0,0 +1,42 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one transaction service call and the cost incurred inside it
+ */
+@Name("expensetracker.ServiceCall")
+@Label("Service Call")
+@Description("Transaction service method with the rows, decrypted bytes and SQL statements it caused")
+@Category("Expense Tracker")
+@StackTrace(false)
+class ServiceCallEvent extends Event {
+    
+    @Label("Request Id")
+    String requestId;
+    
+    @Label("User Id Hash")
+    String userIdHash;
+    
+    @Label("Service")
+    String service;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Rows Fetched")
+    long rowsFetched;
+    
+    @Label("Bytes Decrypted")
+    @DataAmount
+    long bytesDecrypted;
+    
+    @Label("SQL Statements")
+    long sqlStatements;
+}
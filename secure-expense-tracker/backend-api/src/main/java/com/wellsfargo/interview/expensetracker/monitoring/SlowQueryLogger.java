@@ -0,0 +1,74 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs statements slower than a threshold, with bound parameters redacted
+ *
+ * Parameters can hold amounts, dates and ciphertext, so only their positions and types
+ * are logged. The SQL itself is Hibernate's, with every value bound.
+ */
+public class SlowQueryLogger implements QueryExecutionListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+    
+    /**
+     * Indexed parameters in numeric order, so ?10 follows ?9, then named parameters by name
+     */
+    private static final Comparator<ParameterSetOperation> PARAMETER_ORDER = Comparator
+        .comparing((ParameterSetOperation operation) -> !(operation.getArgs()[0] instanceof Integer))
+        .thenComparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0)
+        .thenComparing(operation -> String.valueOf(operation.getArgs()[0]));
+    
+    private final long thresholdMillis;
+    
+    public SlowQueryLogger(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        
+        RequestCost cost = RequestCost.current();
+        String requestId = cost != null ? cost.getRequestId() : "-";
+        for (QueryInfo query : queryInfoList) {
+            if (query.getQuery() == null || query.getQuery().isBlank()) {
+                continue;
+            }
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            log.warn("Slow query ({} ms, request {}, {} {}): {} params {}", execInfo.getElapsedTime(), requestId,
+                execInfo.isBatch() ? "batch of" : "executions", Math.max(parameterSets.size(), 1),
+                query.getQuery(), parameterSets.isEmpty() ? "[]" : redact(parameterSets.get(0)));
+        }
+    }
+    
+    static String redact(List<ParameterSetOperation> parameters) {
+        StringBuilder redacted = new StringBuilder("[");
+        parameters.stream()
+            .sorted(PARAMETER_ORDER)
+            .forEach(operation -> {
+                Object[] args = operation.getArgs();
+                Object value = args.length > 1 ? args[1] : null;
+                if (redacted.length() > 1) {
+                    redacted.append(", ");
+                }
+                redacted.append(args[0]).append(':').append(value == null ? "null" : value.getClass().getSimpleName());
+            });
+        return redacted.append(']').toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller method may run per request
+ *
+ * Covers the request thread only, from authentication to the response, with cold caches
+ * included. An N+1 query shows up as a count that grows with the rows returned. Exceeding
+ * the budget is logged and counted; with app.sql.statement-budget.strict=true the statement
+ * that crosses it fails instead, so load test and dev runs catch regressions.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+    
+    int value();
+}
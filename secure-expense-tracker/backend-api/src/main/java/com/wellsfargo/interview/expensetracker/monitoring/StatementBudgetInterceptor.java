@@ -0,0 +1,40 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the handler's {@link StatementBudget} to the current request
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+    
+    private static final int NO_BUDGET = 0;
+    
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+    
+    @Value("${app.sql.statement-budget.strict:false}")
+    private boolean strict;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            int budget = budgets.computeIfAbsent(handlerMethod.getMethod(), method -> {
+                StatementBudget annotation = method.getAnnotation(StatementBudget.class);
+                return annotation != null ? annotation.value() : NO_BUDGET;
+            });
+            if (budget != NO_BUDGET) {
+                RequestCost.setStatementBudget(budget, strict);
+            }
+        }
+        return true;
+    }
+}
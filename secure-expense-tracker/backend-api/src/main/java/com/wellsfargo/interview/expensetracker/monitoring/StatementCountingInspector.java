@@ -0,0 +1,17 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of the current request
+ *
+ * Registered through hibernate.session_factory.statement_inspector; the SQL is not changed.
+ */
+public class StatementCountingInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        RequestCost.addSqlStatement();
+        return sql;
+    }
+}
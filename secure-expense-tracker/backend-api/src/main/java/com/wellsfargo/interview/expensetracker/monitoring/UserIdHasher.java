@@ -0,0 +1,61 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Pseudonymizes user ids for cost recordings
+ *
+ * HMAC-SHA256 keyed with a per-deployment secret, truncated to 64 bits: stable per user,
+ * so recordings can be grouped by user, but not reversible or enumerable without the
+ * secret. Without a configured secret a random key is used, so hashes change on restart.
+ */
+@Component
+public class UserIdHasher {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserIdHasher.class);
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int HASH_BYTES = 8;
+    
+    @Value("${app.monitoring.user-id-hash-secret:}")
+    private String secret;
+    
+    private SecretKeySpec key;
+    
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("No app.monitoring.user-id-hash-secret set, user id hashes will change on restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+    
+    public String hash(long userId) {
+        try {
+            // Mac instances are not thread-safe and cheap to create
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(ByteBuffer.allocate(Long.BYTES).putLong(userId).array());
+            return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.wellsfargo.interview.expensetracker.repository;
 
 import com.wellsfargo.interview.expensetracker.entity.Category;
 import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +23,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Find all default categories
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByIsDefaultTrue();
     
     /**
@@ -27,6 +32,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.isDefault = true OR c.user = :user ORDER BY c.isDefault DESC, c.name ASC")
     List<Category> findAvailableCategoriesForUser(@Param("user") User user);
     
+    /**
+     * Find user-specific categories only, by user ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Category c WHERE c.user.id = :userId AND c.isDefault = false ORDER BY c.name ASC")
+    List<Category> findUserCategoriesByUserId(@Param("userId") Long userId);
+    
     /**
      * Find user-specific categories only
      */
@@ -43,11 +55,25 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     Optional<Category> findByNameIgnoreCaseAndUser(String name, User user);
     
+    /**
+     * Create a user category unless it exists already, in the caller's transaction
+     *
+     * A concurrently created duplicate is skipped by ON CONFLICT rather than failing the caller's transaction.
+     *
+     * @return 1 if the category was created, 0 if it already existed
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(nativeQuery = true,
+           value = "INSERT INTO categories (name, is_default, user_id) SELECT :name, false, u.id FROM users u " +
+           "WHERE u.id = :userId ON CONFLICT DO NOTHING")
+    int insertUserCategory(@Param("userId") Long userId, @Param("name") String name);
+    
     /**
      * Get category usage statistics
      */
-    @Query("SELECT c.name, COUNT(t) FROM Category c LEFT JOIN Transaction t ON c.name = t.category AND t.user = :user " +
+    @Query("SELECT c.name, COUNT(t) FROM Category c LEFT JOIN Transaction t ON t.categoryId = c.id AND t.user = :user " +
            "WHERE c.isDefault = true OR c.user = :user " +
-           "GROUP BY c.name ORDER BY COUNT(t) DESC")
+           "GROUP BY c.id, c.name ORDER BY COUNT(t) DESC")
     List<Object[]> getCategoryUsageStats(@Param("user") User user);
 }
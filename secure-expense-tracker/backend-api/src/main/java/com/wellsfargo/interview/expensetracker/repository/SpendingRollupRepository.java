@@ -0,0 +1,108 @@
+package com.wellsfargo.interview.expensetracker.repository;
+
+import com.wellsfargo.interview.expensetracker.entity.SpendingRollup;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for SpendingRollup entity operations
+ */
+@Repository
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, Long> {
+    
+    /**
+     * Atomically add an amount and count to an existing bucket
+     */
+    @Modifying
+    @Query("UPDATE SpendingRollup r SET r.total = r.total + :amount, r.count = r.count + :count " +
+           "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.category = :category")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("category") String category,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+    
+    /**
+     * Overwrite a bucket with recomputed values
+     */
+    @Modifying
+    @Query("UPDATE SpendingRollup r SET r.total = :total, r.count = :count " +
+           "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.category = :category")
+    int overwrite(@Param("userId") Long userId,
+                  @Param("year") int year,
+                  @Param("month") int month,
+                  @Param("category") String category,
+                  @Param("total") BigDecimal total,
+                  @Param("count") long count);
+    
+    /**
+     * Create a bucket seeded from the user's transactions in that month and category,
+     * unless it exists already
+     *
+     * Runs in the caller's transaction after flushing it, so the seed includes the caller's own
+     * changes. A concurrently created duplicate is skipped by ON CONFLICT rather than failing
+     * the caller's transaction: the insert waits for the other transaction and returns 0.
+     *
+     * @return 1 if the bucket was created, 0 if it already existed
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "spending_rollup"))
+    @Query(nativeQuery = true,
+           value = "INSERT INTO spending_rollup (user_id, \"year\", \"month\", category, total, \"count\") " +
+           "SELECT :userId, :year, :month, :category, COALESCE(SUM(t.amount), 0), COUNT(*) " +
+           "FROM transactions t WHERE t.user_id = :userId AND t.category = :category " +
+           "AND t.transaction_date >= :monthStart AND t.transaction_date < :nextMonthStart " +
+           "ON CONFLICT DO NOTHING")
+    int insertBucketFromTransactions(@Param("userId") Long userId,
+                                     @Param("year") int year,
+                                     @Param("month") int month,
+                                     @Param("category") String category,
+                                     @Param("monthStart") LocalDateTime monthStart,
+                                     @Param("nextMonthStart") LocalDateTime nextMonthStart);
+    
+    /**
+     * Find non-empty buckets for a user and month, largest first
+     */
+    @Query("SELECT r FROM SpendingRollup r WHERE r.userId = :userId AND r.year = :year AND r.month = :month " +
+           "AND r.count > 0 ORDER BY r.total DESC")
+    List<SpendingRollup> findMonth(@Param("userId") Long userId,
+                                   @Param("year") int year,
+                                   @Param("month") int month);
+    
+    /**
+     * Get spending by category for a user
+     */
+    @Query("SELECT r.category, SUM(r.total) FROM SpendingRollup r WHERE r.userId = :userId AND r.count > 0 " +
+           "GROUP BY r.category ORDER BY SUM(r.total) DESC")
+    List<Object[]> getSpendingByCategory(@Param("userId") Long userId);
+    
+    /**
+     * Get monthly spending summary from the given month onwards
+     */
+    @Query("SELECT r.year, r.month, SUM(r.total) FROM SpendingRollup r WHERE r.userId = :userId AND r.count > 0 " +
+           "AND (r.year > :year OR (r.year = :year AND r.month >= :month)) " +
+           "GROUP BY r.year, r.month ORDER BY r.year DESC, r.month DESC")
+    List<Object[]> getMonthlySpending(@Param("userId") Long userId,
+                                      @Param("year") int year,
+                                      @Param("month") int month);
+    
+    /**
+     * Lock all buckets of a user while they are being verified
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM SpendingRollup r WHERE r.userId = :userId")
+    List<SpendingRollup> findAllByUserIdForUpdate(@Param("userId") Long userId);
+}
@@ -1,17 +1,27 @@
 package com.wellsfargo.interview.expensetracker.repository;
 
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
 import com.wellsfargo.interview.expensetracker.entity.Transaction;
 import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transaction entity operations
@@ -42,19 +52,274 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     /**
      * Find transactions by user, category, and date range
+     * Projects straight into TransactionResponse without loading entities;
+     * the description is still encrypted and must be decrypted by the caller
      */
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user " +
-           "AND (:category IS NULL OR LOWER(t.category) LIKE LOWER(CONCAT('%', :category, '%'))) " +
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+           "t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
            "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
            "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
-           "ORDER BY t.transactionDate DESC")
-    Page<Transaction> findByUserWithFilters(
-            @Param("user") User user,
-            @Param("category") String category,
+           "ORDER BY t.transactionDate DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+    Page<TransactionResponse> findResponsesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+    
+    /**
+     * Same as findResponsesByUserWithFilters without selecting the description columns
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.transactionDate, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+    Page<TransactionResponse> findSummariesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+    
+    /**
+     * Stream filtered transactions through a forward-only cursor (for export)
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Stream filtered transactions as responses without the description columns (for export)
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.transactionDate, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TransactionResponse> streamSummariesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * First keyset page of filtered transactions, newest first (no count query)
+     * Description is still encrypted
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+           "t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findFirstResponsesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+    
+    /**
+     * Same as findFirstResponsesByUserWithFilters without selecting the description columns
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.transactionDate, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findFirstSummariesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+    
+    /**
+     * Next keyset page of filtered transactions strictly after (afterDate, afterId) in newest-first order
+     * Description is still encrypted
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+           "t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findNextResponsesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    /**
+     * Same as findNextResponsesByUserWithFilters without selecting the description columns
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.transactionDate, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findNextSummariesByUserWithFilters(
+            @Param("userId") Long userId,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryIds") Collection<Long> categoryIds,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
             Pageable pageable);
     
+    /**
+     * Find a single transaction owned by the user, description still encrypted
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+           "t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TransactionResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Find and lock a transaction for modification until commit, checking ownership in the same statement
+     *
+     * Locked so that concurrent updates or deletes of the row are serialized and each derives its
+     * rollup and totals deltas from the values the previous one committed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Transaction> lockByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Delete the given transactions owned by the user in a single statement
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.user.id = :userId AND t.id IN :ids")
+    int deleteByIdsAndUserId(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Move every transaction of a category, optionally within a date range, to another category
+     * in a single statement (bypasses @PreUpdate, so updatedAt is set explicitly)
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.category = :newCategory, t.categoryId = :newCategoryId, " +
+           "t.updatedAt = :updatedAt WHERE t.user.id = :userId AND t.categoryId = :categoryId " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+    int recategorize(@Param("userId") Long userId,
+                     @Param("categoryId") Long categoryId,
+                     @Param("startDate") LocalDateTime startDate,
+                     @Param("endDate") LocalDateTime endDate,
+                     @Param("newCategoryId") Long newCategoryId,
+                     @Param("newCategory") String newCategory,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Distinct category names of a user's transactions that have no category id yet (for backfill)
+     */
+    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user.id = :userId AND t.categoryId IS NULL")
+    List<String> findUnmappedCategoryNames(@Param("userId") Long userId);
+    
+    /**
+     * Whether any transaction has no category id yet (for backfill)
+     */
+    boolean existsByCategoryIdIsNull();
+    
+    /**
+     * Point a user's not yet backfilled transactions of one category name at its category id
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.categoryId = :categoryId " +
+           "WHERE t.user.id = :userId AND t.categoryId IS NULL AND t.category = :category")
+    int backfillCategoryId(@Param("userId") Long userId,
+                           @Param("category") String category,
+                           @Param("categoryId") Long categoryId);
+    
+    /**
+     * Transactions whose description is still in the legacy Base64 column, in id order (for backfill)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t.id AS id, t.encryptedDescription AS encryptedDescription FROM Transaction t " +
+           "WHERE t.id > :afterId AND t.encryptedDescription IS NOT NULL ORDER BY t.id")
+    List<LegacyDescription> findLegacyDescriptionsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     /**
      * Get total spending by user
      */
@@ -62,26 +327,87 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     BigDecimal getTotalSpendingByUser(@Param("user") User user);
     
     /**
-     * Get spending by category for a user
+     * Get total spent and transaction count for a user (source of truth for running totals)
+     */
+    @Query("SELECT COALESCE(SUM(t.amount), 0), COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    List<Object[]> getTotalsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Recompute monthly per-category totals for a user (source of truth for spending rollups)
+     */
+    @Query("SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), t.category, SUM(t.amount), COUNT(t) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.category")
+    List<Object[]> getMonthlyCategorySummary(@Param("userId") Long userId);
+    
+    /**
+     * Monthly per-category totals of the given transactions owned by the user
+     */
+    @Query("SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), t.category, SUM(t.amount), COUNT(t) " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.id IN :ids " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.category")
+    List<Object[]> getMonthlyCategorySummaryByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Lock the given transactions owned by the user until commit
+     *
+     * Taken before reading their summary, so a concurrent update cannot change amounts, dates or
+     * categories between the summary and the bulk statement (the grouped summary itself cannot be
+     * read FOR UPDATE).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Transaction t WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Long> lockByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Lock one category's transactions for a user, optionally within a date range, until commit
      */
-    @Query("SELECT t.category, SUM(t.amount) FROM Transaction t WHERE t.user = :user GROUP BY t.category ORDER BY SUM(t.amount) DESC")
-    List<Object[]> getSpendingByCategory(@Param("user") User user);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Transaction t WHERE t.user.id = :userId AND t.categoryId = :categoryId " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+    List<Long> lockByCategory(@Param("userId") Long userId,
+                              @Param("categoryId") Long categoryId,
+                              @Param("startDate") LocalDateTime startDate,
+                              @Param("endDate") LocalDateTime endDate);
     
     /**
-     * Get monthly spending summary
+     * Monthly totals of one category for a user, optionally within a date range
      */
-    @Query("SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount) " +
-           "FROM Transaction t WHERE t.user = :user " +
-           "AND t.transactionDate >= :startDate " +
-           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate) " +
-           "ORDER BY YEAR(t.transactionDate) DESC, MONTH(t.transactionDate) DESC")
-    List<Object[]> getMonthlySpending(@Param("user") User user, @Param("startDate") LocalDateTime startDate);
+    @Query("SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), t.category, SUM(t.amount), COUNT(t) " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.categoryId = :categoryId " +
+           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.category")
+    List<Object[]> getMonthlyCategorySummaryByCategory(
+            @Param("userId") Long userId,
+            @Param("categoryId") Long categoryId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
     
     /**
-     * Get recent transactions for dashboard
+     * Get daily spending for a user within a single month (end exclusive)
      */
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user ORDER BY t.transactionDate DESC")
-    List<Transaction> findTop10ByUserOrderByTransactionDateDesc(@Param("user") User user, Pageable pageable);
+    @Query("SELECT DAY(t.transactionDate), SUM(t.amount) FROM Transaction t WHERE t.user = :user " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endDate " +
+           "GROUP BY DAY(t.transactionDate) ORDER BY DAY(t.transactionDate)")
+    List<Object[]> getDailySpendingByDateRange(
+            @Param("user") User user,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Get recent transactions for dashboard, description still encrypted
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+           "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+           "t.createdAt, t.updatedAt) " +
+           "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findRecentResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
     
     /**
      * Count transactions by user
@@ -93,4 +419,12 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     @Query("SELECT AVG(t.amount) FROM Transaction t WHERE t.user = :user")
     BigDecimal getAverageTransactionAmount(@Param("user") User user);
+    
+    /**
+     * Id and legacy Base64 description of a transaction awaiting backfill
+     */
+    interface LegacyDescription {
+        Long getId();
+        String getEncryptedDescription();
+    }
 }
@@ -1,12 +1,18 @@
 package com.wellsfargo.interview.expensetracker.repository;
 
 import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity operations
@@ -17,6 +23,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Find user by username
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
     /**
@@ -25,10 +32,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     /**
-     * Find user by username with transactions (for analytics)
+     * Page through user ids in ascending order (for batch jobs)
      */
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.transactions WHERE u.username = :username")
-    Optional<User> findByUsernameWithTransactions(@Param("username") String username);
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Stream every username through a forward-only cursor (for warming in-memory indexes)
+     * Must be consumed inside a transaction and closed by the caller
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
     
     /**
      * Count total users (for admin purposes)
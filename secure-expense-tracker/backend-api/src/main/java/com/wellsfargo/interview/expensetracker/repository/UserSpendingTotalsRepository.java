@@ -0,0 +1,67 @@
+package com.wellsfargo.interview.expensetracker.repository;
+
+import com.wellsfargo.interview.expensetracker.entity.UserSpendingTotals;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Repository interface for UserSpendingTotals entity operations
+ */
+@Repository
+public interface UserSpendingTotalsRepository extends JpaRepository<UserSpendingTotals, Long> {
+    
+    /**
+     * Atomically add an amount and count to a user's totals
+     */
+    @Modifying
+    @Query("UPDATE UserSpendingTotals t SET t.totalSpent = t.totalSpent + :amount, " +
+           "t.transactionCount = t.transactionCount + :count WHERE t.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+    
+    /**
+     * Overwrite a user's totals with recomputed values
+     */
+    @Modifying
+    @Query("UPDATE UserSpendingTotals t SET t.totalSpent = :totalSpent, t.transactionCount = :count " +
+           "WHERE t.userId = :userId")
+    int overwrite(@Param("userId") Long userId,
+                  @Param("totalSpent") BigDecimal totalSpent,
+                  @Param("count") long count);
+    
+    /**
+     * Create a user's totals row seeded from their transactions, unless it exists already
+     *
+     * Runs in the caller's transaction after flushing it, so the seed includes the caller's own
+     * writes. A concurrently created row is skipped by ON CONFLICT rather than failing the
+     * caller's transaction.
+     *
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_spending_totals"))
+    @Query(nativeQuery = true,
+           value = "INSERT INTO user_spending_totals (user_id, total_spent, transaction_count) " +
+           "SELECT :userId, COALESCE(SUM(t.amount), 0), COUNT(*) FROM transactions t WHERE t.user_id = :userId " +
+           "ON CONFLICT DO NOTHING")
+    int insertFromTransactions(@Param("userId") Long userId);
+    
+    /**
+     * Lock a user's totals while they are being reconciled
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM UserSpendingTotals t WHERE t.userId = :userId")
+    Optional<UserSpendingTotals> findByUserIdForUpdate(@Param("userId") Long userId);
+}
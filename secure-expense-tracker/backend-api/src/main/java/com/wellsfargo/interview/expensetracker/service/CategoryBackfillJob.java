@@ -0,0 +1,83 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job that migrates transactions from free-text categories to category IDs
+ *
+ * Users are processed in chunks, one short transaction per user, so the job can run
+ * while the API is serving traffic. Disabled unless app.categories.backfill-cron is set.
+ *
+ * Category filters and recategorization match on category IDs only, so if any transaction
+ * has none yet (the first start after category IDs were introduced), the backfill runs
+ * once at startup, before the application reports itself ready for traffic.
+ */
+@Component
+public class CategoryBackfillJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(CategoryBackfillJob.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Value("${app.categories.backfill-chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${app.categories.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfNeeded() {
+        if (backfillOnStartup && transactionRepository.existsByCategoryIdIsNull()) {
+            log.info("Found transactions without a category ID, backfilling them");
+            run();
+        }
+    }
+    
+    @Scheduled(cron = "${app.categories.backfill-cron:-}")
+    public void scheduledRun() {
+        run();
+    }
+    
+    /**
+     * Backfill category IDs for every user
+     *
+     * @return number of transactions backfilled
+     */
+    public long run() {
+        int users = 0;
+        long backfilled = 0;
+        Long lastId = 0L;
+        
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            for (Long userId : userIds) {
+                backfilled += categoryService.backfillUser(userId);
+                users++;
+                lastId = userId;
+            }
+        } while (userIds.size() == chunkSize);
+        
+        log.info("Backfilled category IDs for {} users, {} transaction(s) updated", users, backfilled);
+        return backfilled;
+    }
+}
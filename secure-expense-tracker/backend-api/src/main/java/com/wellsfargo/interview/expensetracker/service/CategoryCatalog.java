@@ -0,0 +1,96 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.config.CacheConfig;
+import com.wellsfargo.interview.expensetracker.entity.Category;
+import com.wellsfargo.interview.expensetracker.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory catalog of the categories visible to each user
+ *
+ * Default categories are loaded once and kept resident. Each user's dictionary
+ * (defaults plus their own categories) is cached with size and idle eviction,
+ * so a miss costs one query for the user's own categories only.
+ * Entries are invalidated by {@link CategoryChangedEvent} once the change has completed.
+ */
+@Component
+public class CategoryCatalog {
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    private volatile List<CategoryDictionary.Entry> defaults;
+    
+    /**
+     * Get the dictionary of default and user categories
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_CATEGORIES, key = "#userId", sync = true)
+    @Transactional(readOnly = true)
+    public CategoryDictionary getDictionary(Long userId) {
+        return loadDictionary(userId);
+    }
+    
+    /**
+     * Load the dictionary of default and user categories without caching it,
+     * for callers that must see their own uncommitted categories
+     */
+    @Transactional(readOnly = true)
+    public CategoryDictionary loadDictionary(Long userId) {
+        List<CategoryDictionary.Entry> entries = new ArrayList<>(getDefaults());
+        for (Category category : categoryRepository.findUserCategoriesByUserId(userId)) {
+            entries.add(CategoryDictionary.Entry.of(category));
+        }
+        return CategoryDictionary.of(entries);
+    }
+    
+    /**
+     * Get the default categories, ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryDictionary.Entry> getDefaults() {
+        List<CategoryDictionary.Entry> entries = defaults;
+        if (entries == null) {
+            entries = categoryRepository.findByIsDefaultTrue().stream()
+                .map(CategoryDictionary.Entry::of)
+                .sorted(Comparator.comparing(CategoryDictionary.Entry::name))
+                .toList();
+            defaults = entries;
+        }
+        return entries;
+    }
+    
+    /**
+     * Drop a user's dictionary immediately
+     */
+    public void evict(Long userId) {
+        userCategories().evictIfPresent(userId);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDefaultCategories()) {
+            defaults = null;
+            userCategories().invalidate();
+        } else {
+            evict(event.getUserId());
+        }
+    }
+    
+    private Cache userCategories() {
+        return cacheManager.getCache(CacheConfig.USER_CATEGORIES);
+    }
+}
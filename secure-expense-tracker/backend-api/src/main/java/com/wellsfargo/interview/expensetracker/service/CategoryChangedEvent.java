@@ -0,0 +1,23 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+/**
+ * Published when categories are created, renamed or deleted
+ *
+ * A null user ID means the default categories changed, which affects every user.
+ */
+public class CategoryChangedEvent {
+    
+    private final Long userId;
+    
+    public CategoryChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public boolean isDefaultCategories() {
+        return userId == null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.entity.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Immutable in-memory dictionary of the categories visible to one user
+ *
+ * Names are keyed case-insensitively in sorted order, so exact lookups and
+ * prefix searches never touch the database. Default categories win over a
+ * user category that differs only in case.
+ */
+public final class CategoryDictionary {
+    
+    private final NavigableMap<String, Entry> byName;
+    
+    private CategoryDictionary(NavigableMap<String, Entry> byName) {
+        this.byName = byName;
+    }
+    
+    /**
+     * Build a dictionary from entries ordered defaults first
+     */
+    public static CategoryDictionary of(List<Entry> entries) {
+        NavigableMap<String, Entry> byName = new TreeMap<>();
+        for (Entry entry : entries) {
+            byName.putIfAbsent(key(entry.name()), entry);
+        }
+        return new CategoryDictionary(Collections.unmodifiableNavigableMap(byName));
+    }
+    
+    /**
+     * Find a category by name, ignoring case and surrounding whitespace
+     */
+    public Optional<Entry> find(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(byName.get(key(name)));
+    }
+    
+    /**
+     * Find the IDs of all categories whose name starts with the prefix, ignoring case
+     */
+    public List<Long> findIdsByPrefix(String prefix) {
+        String from = key(prefix);
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : byName.tailMap(from, true).headMap(from + Character.MAX_VALUE, false).values()) {
+            ids.add(entry.id());
+        }
+        return ids;
+    }
+    
+    public int size() {
+        return byName.size();
+    }
+    
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * A category ID with its canonical name
+     */
+    public record Entry(Long id, String name) {
+        
+        public static Entry of(Category category) {
+            return new Entry(category.getId(), category.getName());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Category filter resolved to category IDs for the transaction queries
+ *
+ * The ID list is never empty, so the query never renders an empty IN list;
+ * callers should skip the query entirely when {@link #matchesNothing()}.
+ */
+public final class CategoryFilter {
+    
+    private static final List<Long> PLACEHOLDER = List.of(0L);
+    private static final CategoryFilter ANY = new CategoryFilter(true, PLACEHOLDER);
+    private static final CategoryFilter NONE = new CategoryFilter(false, PLACEHOLDER);
+    
+    private final boolean any;
+    private final List<Long> ids;
+    
+    private CategoryFilter(boolean any, List<Long> ids) {
+        this.any = any;
+        this.ids = ids;
+    }
+    
+    public static CategoryFilter any() {
+        return ANY;
+    }
+    
+    public static CategoryFilter of(Collection<Long> ids) {
+        return ids.isEmpty() ? NONE : new CategoryFilter(false, List.copyOf(ids));
+    }
+    
+    public boolean isAny() {
+        return any;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public boolean matchesNothing() {
+        return this == NONE;
+    }
+}
@@ -0,0 +1,120 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.CategoryRepository;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service resolving category names to dictionary-encoded category IDs
+ *
+ * Transactions reference categories by ID. Names that match no default or user
+ * category are registered as new user categories, so free-text input keeps working.
+ * Lookups are served from the {@link CategoryCatalog}, so a known name costs no query.
+ */
+@Service
+@Transactional
+public class CategoryService {
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    
+    /**
+     * Resolve a category name, creating a user category if none matches
+     */
+    public CategoryDictionary.Entry resolve(Long userId, String name) {
+        return resolveAll(userId, List.of(name)).get(name);
+    }
+    
+    /**
+     * Resolve many category names with a single dictionary load, creating user categories as needed
+     *
+     * @return entries keyed by the names as given
+     */
+    public Map<String, CategoryDictionary.Entry> resolveAll(Long userId, Collection<String> names) {
+        CategoryDictionary dictionary = categoryCatalog.getDictionary(userId);
+        
+        // Names differing only in case map to one new category
+        Set<String> created = new HashSet<>();
+        for (String name : names) {
+            if (dictionary.find(name).isEmpty() && created.add(name.trim().toLowerCase(Locale.ROOT))) {
+                categoryRepository.insertUserCategory(userId, name.trim());
+            }
+        }
+        if (!created.isEmpty()) {
+            // The new categories are not committed yet, so read them past the shared cache,
+            // which is invalidated once this transaction completes
+            dictionary = categoryCatalog.loadDictionary(userId);
+            eventPublisher.publishEvent(new CategoryChangedEvent(userId));
+        }
+        
+        Map<String, CategoryDictionary.Entry> entries = new HashMap<>();
+        for (String name : names) {
+            CategoryDictionary.Entry entry = dictionary.find(name)
+                .orElseThrow(() -> new IllegalStateException("Category could not be created: " + name));
+            entries.put(name, entry);
+        }
+        return entries;
+    }
+    
+    /**
+     * Resolve request filters: an exact category ID wins over a case-insensitive name prefix
+     */
+    @Transactional(readOnly = true)
+    public CategoryFilter resolveFilter(Long userId, Long categoryId, String categoryPrefix) {
+        if (categoryId != null) {
+            return CategoryFilter.of(List.of(categoryId));
+        }
+        if (categoryPrefix == null || categoryPrefix.isBlank()) {
+            return CategoryFilter.any();
+        }
+        return CategoryFilter.of(categoryCatalog.getDictionary(userId).findIdsByPrefix(categoryPrefix));
+    }
+    
+    /**
+     * Find an existing category by name without creating it
+     */
+    @Transactional(readOnly = true)
+    public Optional<CategoryDictionary.Entry> find(Long userId, String name) {
+        return categoryCatalog.getDictionary(userId).find(name);
+    }
+    
+    /**
+     * Point a user's transactions that predate category IDs at their categories
+     *
+     * @return number of transactions backfilled
+     */
+    public int backfillUser(Long userId) {
+        List<String> names = transactionRepository.findUnmappedCategoryNames(userId);
+        if (names.isEmpty()) {
+            return 0;
+        }
+        
+        int backfilled = 0;
+        for (Map.Entry<String, CategoryDictionary.Entry> entry : resolveAll(userId, names).entrySet()) {
+            backfilled += transactionRepository.backfillCategoryId(userId, entry.getKey(), entry.getValue().id());
+        }
+        return backfilled;
+    }
+}
@@ -0,0 +1,85 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository.LegacyDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Background job that moves encrypted descriptions from the legacy Base64 LOB column to
+ * the binary ciphertext column
+ *
+ * Transactions are processed in id order, in chunks of one short transaction each, so the
+ * job can run while the API is serving traffic and resume after a restart. Each chunk is
+ * written as one JDBC batch. A row whose description is rewritten while its chunk runs
+ * keeps the new value. Disabled unless app.descriptions.backfill-cron is set.
+ *
+ * On PostgreSQL the column must be added first with db/postgresql-upgrade.sql.
+ */
+@Component
+public class DescriptionBackfillJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(DescriptionBackfillJob.class);
+    
+    // Native so the chunk is batched; transactions are not in the second-level or query cache
+    private static final String BACKFILL_SQL = "UPDATE transactions SET description_ciphertext = ?, " +
+        "encrypted_description = NULL WHERE id = ? AND description_ciphertext IS NULL";
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private EncryptionService encryptionService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.descriptions.backfill-chunk-size:500}")
+    private int chunkSize;
+    
+    @Scheduled(cron = "${app.descriptions.backfill-cron:-}")
+    public void scheduledRun() {
+        run();
+    }
+    
+    /**
+     * Backfill every legacy description
+     *
+     * @return number of transactions backfilled
+     */
+    public long run() {
+        long backfilled = 0;
+        Long lastId = 0L;
+        
+        List<LegacyDescription> chunk;
+        do {
+            chunk = transactionRepository.findLegacyDescriptionsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            
+            List<Object[]> updates = chunk.stream()
+                .map(row -> new Object[] {encryptionService.toCiphertext(row.getEncryptedDescription()), row.getId()})
+                .toList();
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(BACKFILL_SQL, updates));
+            backfilled += counts != null ? Arrays.stream(counts).filter(count -> count > 0).count() : 0;
+            lastId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == chunkSize);
+        
+        log.info("Backfilled description ciphertext for {} transaction(s)", backfilled);
+        return backfilled;
+    }
+}
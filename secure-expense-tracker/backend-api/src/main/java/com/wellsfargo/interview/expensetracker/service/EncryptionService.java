@@ -1,5 +1,12 @@
 package com.wellsfargo.interview.expensetracker.service;
 
+import com.wellsfargo.interview.expensetracker.config.MetricsConfig;
+import com.wellsfargo.interview.expensetracker.monitoring.CryptoEvent;
+import com.wellsfargo.interview.expensetracker.monitoring.RequestCost;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -10,22 +17,87 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service for encrypting and decrypting sensitive data
  * Uses AES-256 encryption for transaction descriptions
+ *
+ * Ciphertext is stored as raw bytes. The String methods produce and accept the legacy
+ * Base64 form, which is only kept for rows that have not been backfilled yet.
+ *
+ * The key is read from disk once and held in memory until {@link #reloadKey()} is called.
+ * Cipher instances are pooled and re-initialised only when the key changes. A shared pool
+ * rather than thread locals keeps reuse effective when each request runs on a fresh
+ * virtual thread, and the key lock is a ReentrantLock so file I/O never pins a carrier.
  */
 @Service
 public class EncryptionService {
     
     private static final String ALGORITHM = "AES";
     private static final String TRANSFORMATION = "AES";
+    private static final int CIPHER_POOL_SIZE = 64;
     
     @Value("${app.encryption.key-file:encryption.key}")
     private String keyFile;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer encryptTimer;
+    private Timer decryptTimer;
+    private Timer decryptFallbackTimer;
+    private Timer decryptFailureTimer;
+    
+    private volatile SecretKey secretKey;
+    
+    private final Lock keyLock = new ReentrantLock();
+    
+    // Bounded so a burst of virtual threads does not leave thousands of ciphers behind
+    private final Queue<CachedCipher> encryptCiphers = new ArrayBlockingQueue<>(CIPHER_POOL_SIZE);
+    private final Queue<CachedCipher> decryptCiphers = new ArrayBlockingQueue<>(CIPHER_POOL_SIZE);
+    
+    @PostConstruct
+    void initMetrics() {
+        encryptTimer = cryptoTimer("encrypt", "success");
+        decryptTimer = cryptoTimer("decrypt", "success");
+        decryptFallbackTimer = cryptoTimer("decrypt", "fallback");
+        decryptFailureTimer = cryptoTimer("decrypt", "failure");
+    }
+    
+    private Timer cryptoTimer(String operation, String outcome) {
+        return Timer.builder(MetricsConfig.CRYPTO_TIMER)
+            .description("AES encryption and decryption of single values")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
     private SecretKey getOrCreateKey() {
+        SecretKey key = secretKey;
+        if (key == null) {
+            keyLock.lock();
+            try {
+                key = secretKey;
+                if (key == null) {
+                    key = loadOrGenerateKey();
+                    secretKey = key;
+                }
+            } finally {
+                keyLock.unlock();
+            }
+        }
+        return key;
+    }
+    
+    private SecretKey loadOrGenerateKey() {
         try {
             Path keyPath = Paths.get(keyFile);
             
@@ -52,45 +124,196 @@ public class EncryptionService {
         }
     }
     
+    /**
+     * Re-read the key file, e.g. after a key rotation.
+     * Pooled ciphers pick up the new key on their next use.
+     */
+    public void reloadKey() {
+        keyLock.lock();
+        try {
+            secretKey = loadOrGenerateKey();
+        } finally {
+            keyLock.unlock();
+        }
+    }
+    
     /**
      * Encrypt text using AES encryption
+     *
+     * @return the ciphertext, or null for null or empty text
      */
-    public String encrypt(String plainText) {
+    public byte[] encryptToBytes(String plainText) {
         if (plainText == null || plainText.isEmpty()) {
-            return plainText;
+            return null;
         }
         
+        long start = System.nanoTime();
         try {
-            SecretKey key = getOrCreateKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            
-            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes());
-            return Base64.getEncoder().encodeToString(encryptedBytes);
+            CachedCipher cached = borrow(encryptCiphers, Cipher.ENCRYPT_MODE);
+            byte[] encryptedBytes = cached.cipher.doFinal(plainText.getBytes());
+            encryptCiphers.offer(cached);
+            encryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return encryptedBytes;
         } catch (Exception e) {
+            // A cipher that failed mid-operation is dropped rather than returned to the pool
             throw new RuntimeException("Failed to encrypt data", e);
         }
     }
     
     /**
-     * Decrypt text using AES encryption
+     * Decrypt ciphertext produced by {@link #encryptToBytes(String)}
+     *
+     * @return the text, or null for null or empty input and for ciphertext that does not decrypt
+     */
+    public String decrypt(byte[] ciphertext) {
+        if (ciphertext == null || ciphertext.length == 0) {
+            return null;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            CachedCipher cached = borrow(decryptCiphers, Cipher.DECRYPT_MODE);
+            byte[] decryptedBytes = cached.cipher.doFinal(ciphertext);
+            decryptCiphers.offer(cached);
+            decryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RequestCost.addBytesDecrypted(decryptedBytes.length);
+            return new String(decryptedBytes);
+        } catch (Exception e) {
+            decryptFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+    
+    /**
+     * Decrypt a stored value, falling back to its legacy Base64 form when there is no ciphertext
+     */
+    public String decrypt(byte[] ciphertext, String legacyEncryptedText) {
+        return ciphertext != null ? decrypt(ciphertext) : decrypt(legacyEncryptedText);
+    }
+    
+    /**
+     * Convert a legacy Base64 value to ciphertext bytes (for backfill)
+     *
+     * Valid ciphertext is only decoded, not re-encrypted. Values that do not decrypt were
+     * stored before encryption and are returned as-is by {@link #decrypt(String)}, so they
+     * are encrypted now to keep reading the same.
+     */
+    public byte[] toCiphertext(String legacyEncryptedText) {
+        if (legacyEncryptedText == null || legacyEncryptedText.isEmpty()) {
+            return null;
+        }
+        
+        try {
+            byte[] ciphertext = Base64.getDecoder().decode(legacyEncryptedText);
+            CachedCipher cached = borrow(decryptCiphers, Cipher.DECRYPT_MODE);
+            cached.cipher.doFinal(ciphertext);
+            decryptCiphers.offer(cached);
+            return ciphertext;
+        } catch (Exception e) {
+            return encryptToBytes(legacyEncryptedText);
+        }
+    }
+    
+    /**
+     * Encrypt text using AES encryption, Base64 encoded (legacy form)
+     */
+    public String encrypt(String plainText) {
+        if (plainText == null || plainText.isEmpty()) {
+            return plainText;
+        }
+        return Base64.getEncoder().encodeToString(encryptToBytes(plainText));
+    }
+    
+    /**
+     * Decrypt Base64 encoded text using AES encryption (legacy form)
      */
     public String decrypt(String encryptedText) {
         if (encryptedText == null || encryptedText.isEmpty()) {
             return encryptedText;
         }
         
+        long start = System.nanoTime();
         try {
-            SecretKey key = getOrCreateKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            
+            CachedCipher cached = borrow(decryptCiphers, Cipher.DECRYPT_MODE);
             byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
-            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-            return new String(decryptedBytes);
+            byte[] decryptedBytes = cached.cipher.doFinal(decodedBytes);
+            decryptCiphers.offer(cached);
+            String decrypted = new String(decryptedBytes);
+            decryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RequestCost.addBytesDecrypted(decryptedBytes.length);
+            return decrypted;
         } catch (Exception e) {
+            decryptFallbackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             // If decryption fails, return original text (for backward compatibility)
             return encryptedText;
         }
     }
+    
+    /**
+     * Encrypt a batch of values, preserving order; null and empty entries encrypt to null
+     */
+    public List<byte[]> encryptAll(List<String> plainTexts) {
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        List<byte[]> result = new ArrayList<>(plainTexts.size());
+        long bytes = 0;
+        for (String plainText : plainTexts) {
+            byte[] ciphertext = encryptToBytes(plainText);
+            bytes += ciphertext != null ? ciphertext.length : 0;
+            result.add(ciphertext);
+        }
+        commit(event, "encrypt", plainTexts.size(), bytes);
+        return result;
+    }
+    
+    /**
+     * Decrypt a batch of ciphertexts, preserving order; null entries decrypt to null
+     */
+    public List<String> decryptAll(List<byte[]> ciphertexts) {
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        List<String> result = new ArrayList<>(ciphertexts.size());
+        long bytes = 0;
+        for (byte[] ciphertext : ciphertexts) {
+            bytes += ciphertext != null ? ciphertext.length : 0;
+            result.add(decrypt(ciphertext));
+        }
+        commit(event, "decrypt", ciphertexts.size(), bytes);
+        return result;
+    }
+    
+    private void commit(CryptoEvent event, String operation, int values, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            RequestCost cost = RequestCost.current();
+            event.requestId = cost != null ? cost.getRequestId() : null;
+            event.operation = operation;
+            event.values = values;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+    
+    private CachedCipher borrow(Queue<CachedCipher> pool, int mode) throws Exception {
+        SecretKey key = getOrCreateKey();
+        CachedCipher cached = pool.poll();
+        if (cached == null) {
+            cached = new CachedCipher(Cipher.getInstance(TRANSFORMATION));
+        }
+        // ECB ciphers are reusable after doFinal(); only a key change needs init()
+        if (cached.key != key) {
+            cached.cipher.init(mode, key);
+            cached.key = key;
+        }
+        return cached;
+    }
+    
+    private static final class CachedCipher {
+        private final Cipher cipher;
+        private SecretKey key;
+        
+        private CachedCipher(Cipher cipher) {
+            this.cipher = cipher;
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory failed login tracking with a sliding window per user
+ *
+ * Failures never touch the users table. Only the transition into a lock is reported back
+ * to the caller for persisting, exactly once per lock even under concurrent attempts.
+ * Windows live in a size-bounded Caffeine cache, whose concurrent map stripes contention
+ * across users, and each window is updated with atomics only.
+ */
+@Component
+public class LoginAttemptTracker {
+    
+    @Value("${app.auth.lockout.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${app.auth.lockout.window:30m}")
+    private Duration window;
+    
+    @Value("${app.auth.lockout.duration:30m}")
+    private Duration lockDuration;
+    
+    @Value("${app.auth.lockout.max-tracked-users:100000}")
+    private long maxTrackedUsers;
+    
+    private Cache<Long, AttemptWindow> windows;
+    
+    @PostConstruct
+    void init() {
+        windows = Caffeine.newBuilder()
+            .maximumSize(maxTrackedUsers)
+            .expireAfterAccess(window.compareTo(lockDuration) > 0 ? window : lockDuration)
+            .build();
+    }
+    
+    /**
+     * Check whether a lock recorded by this node is still in force
+     */
+    public boolean isLocked(Long userId) {
+        AttemptWindow attempts = windows.getIfPresent(userId);
+        return attempts != null && attempts.lockedUntil.get() > System.currentTimeMillis();
+    }
+    
+    /**
+     * Record a failed login
+     *
+     * @return the lock expiry if this failure locked the account, otherwise null
+     */
+    public LocalDateTime recordFailure(Long userId) {
+        long now = System.currentTimeMillis();
+        AttemptWindow attempts = windows.get(userId, id -> new AttemptWindow(maxAttempts));
+        
+        long lockedUntil = attempts.lockedUntil.get();
+        if (lockedUntil > now) {
+            return null;
+        }
+        
+        attempts.record(now);
+        if (attempts.countSince(now - window.toMillis()) < maxAttempts) {
+            return null;
+        }
+        
+        long until = now + lockDuration.toMillis();
+        if (!attempts.lockedUntil.compareAndSet(lockedUntil, until)) {
+            // Another failure got there first
+            return null;
+        }
+        attempts.clear();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(until), ZoneId.systemDefault());
+    }
+    
+    /**
+     * Forget a user's failures after a successful login
+     */
+    public void recordSuccess(Long userId) {
+        windows.invalidate(userId);
+    }
+    
+    /**
+     * The most recent failure times in a ring, enough to decide the lockout threshold
+     */
+    private static final class AttemptWindow {
+        
+        private final AtomicLongArray failures;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicLong lockedUntil = new AtomicLong();
+        
+        AttemptWindow(int size) {
+            this.failures = new AtomicLongArray(size);
+        }
+        
+        void record(long time) {
+            failures.set(Math.floorMod(next.getAndIncrement(), failures.length()), time);
+        }
+        
+        int countSince(long since) {
+            int count = 0;
+            for (int i = 0; i < failures.length(); i++) {
+                if (failures.get(i) > since) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        
+        void clear() {
+            for (int i = 0; i < failures.length(); i++) {
+                failures.set(i, 0L);
+            }
+        }
+    }
+}
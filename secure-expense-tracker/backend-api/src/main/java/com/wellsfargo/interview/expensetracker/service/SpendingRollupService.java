@@ -0,0 +1,215 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.entity.SpendingRollup;
+import com.wellsfargo.interview.expensetracker.entity.Transaction;
+import com.wellsfargo.interview.expensetracker.repository.SpendingRollupRepository;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Service maintaining the monthly spending rollups per user and category
+ *
+ * Deltas are applied with a single atomic UPDATE in the caller's transaction,
+ * so a rolled-back transaction write also rolls back its rollup change.
+ * A bucket's first write creates it in that same transaction.
+ */
+@Service
+@Transactional
+public class SpendingRollupService {
+    
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    /**
+     * Record a new transaction
+     */
+    public void add(Long userId, LocalDateTime transactionDate, String category, BigDecimal amount) {
+        applyDelta(userId, transactionDate.getYear(), transactionDate.getMonthValue(), category, amount, 1);
+    }
+    
+    /**
+     * Record many new transactions of one user, applying a single delta per touched bucket
+     * Buckets are updated in key order, so concurrent batches for one user cannot deadlock
+     */
+    public void addAll(Long userId, List<Transaction> transactions) {
+        Map<BucketKey, BigDecimal> totals = new TreeMap<>(BUCKET_ORDER);
+        Map<BucketKey, Long> counts = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            LocalDateTime date = transaction.getTransactionDate();
+            BucketKey key = new BucketKey(date.getYear(), date.getMonthValue(), transaction.getCategory());
+            totals.merge(key, transaction.getAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        
+        totals.forEach((key, total) ->
+            applyDelta(userId, key.year(), key.month(), key.category(), total, counts.get(key)));
+    }
+    
+    /**
+     * Remove a deleted transaction
+     */
+    public void remove(Long userId, LocalDateTime transactionDate, String category, BigDecimal amount) {
+        applyDelta(userId, transactionDate.getYear(), transactionDate.getMonthValue(), category, amount.negate(), -1);
+    }
+    
+    /**
+     * Move an updated transaction, possibly between buckets when its date or category changed
+     */
+    public void move(Long userId,
+                     LocalDateTime oldDate, String oldCategory, BigDecimal oldAmount,
+                     LocalDateTime newDate, String newCategory, BigDecimal newAmount) {
+        boolean sameBucket = oldDate.getYear() == newDate.getYear()
+            && oldDate.getMonthValue() == newDate.getMonthValue()
+            && Objects.equals(oldCategory, newCategory);
+        
+        if (sameBucket) {
+            BigDecimal difference = newAmount.subtract(oldAmount);
+            if (difference.signum() != 0) {
+                applyDelta(userId, newDate.getYear(), newDate.getMonthValue(), newCategory, difference, 0);
+            }
+            return;
+        }
+        
+        remove(userId, oldDate, oldCategory, oldAmount);
+        add(userId, newDate, newCategory, newAmount);
+    }
+    
+    /**
+     * Remove bulk-deleted transactions, given their monthly per-category summary
+     * (rows of year, month, category, total, count)
+     */
+    public void removeAll(Long userId, List<Object[]> summary) {
+        for (Object[] row : summary) {
+            applyDelta(userId, ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), (String) row[2], 
+                ((BigDecimal) row[3]).negate(), -((Number) row[4]).longValue());
+        }
+    }
+    
+    /**
+     * Move bulk-recategorized transactions to a new category, given their monthly per-category summary
+     */
+    public void recategorize(Long userId, List<Object[]> summary, String newCategory) {
+        for (Object[] row : summary) {
+            int year = ((Number) row[0]).intValue();
+            int month = ((Number) row[1]).intValue();
+            BigDecimal total = (BigDecimal) row[3];
+            long count = ((Number) row[4]).longValue();
+            
+            applyDelta(userId, year, month, (String) row[2], total.negate(), -count);
+            applyDelta(userId, year, month, newCategory, total, count);
+        }
+    }
+    
+    /**
+     * Get non-empty category buckets for a month, largest first
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingRollup> getMonth(Long userId, int year, int month) {
+        return spendingRollupRepository.findMonth(userId, year, month);
+    }
+    
+    /**
+     * Get spending by category across all months
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getSpendingByCategory(Long userId) {
+        return spendingRollupRepository.getSpendingByCategory(userId);
+    }
+    
+    /**
+     * Get monthly spending from the month of the given date onwards
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getMonthlySpending(Long userId, LocalDateTime startDate) {
+        return spendingRollupRepository.getMonthlySpending(userId, startDate.getYear(), startDate.getMonthValue());
+    }
+    
+    /**
+     * Recompute a user's rollups from raw transactions and compare them with the stored buckets
+     *
+     * The user's buckets stay locked until commit, so concurrent writes for the same user
+     * queue behind the check and apply their deltas on top of the repaired values.
+     *
+     * @return number of buckets that had drifted
+     */
+    public int reconcileUser(Long userId, boolean repair) {
+        Map<BucketKey, SpendingRollup> stored = new HashMap<>();
+        for (SpendingRollup rollup : spendingRollupRepository.findAllByUserIdForUpdate(userId)) {
+            stored.put(new BucketKey(rollup.getYear(), rollup.getMonth(), rollup.getCategory()), rollup);
+        }
+        
+        int drifted = 0;
+        for (Object[] row : transactionRepository.getMonthlyCategorySummary(userId)) {
+            BucketKey key = new BucketKey(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), (String) row[2]);
+            BigDecimal total = (BigDecimal) row[3];
+            long count = ((Number) row[4]).longValue();
+            
+            SpendingRollup rollup = stored.remove(key);
+            if (rollup != null && rollup.getCount() == count && rollup.getTotal().compareTo(total) == 0) {
+                continue;
+            }
+            
+            drifted++;
+            if (repair) {
+                if (rollup == null) {
+                    createBucketIfAbsent(userId, key.year(), key.month(), key.category());
+                }
+                spendingRollupRepository.overwrite(userId, key.year(), key.month(), key.category(), total, count);
+            }
+        }
+        
+        // Whatever is left has no transactions behind it
+        for (SpendingRollup rollup : stored.values()) {
+            if (rollup.getCount() == 0 && rollup.getTotal().signum() == 0) {
+                continue;
+            }
+            
+            drifted++;
+            if (repair) {
+                spendingRollupRepository.overwrite(userId, rollup.getYear(), rollup.getMonth(),
+                    rollup.getCategory(), BigDecimal.ZERO, 0);
+            }
+        }
+        
+        return drifted;
+    }
+    
+    private void applyDelta(Long userId, int year, int month, String category, BigDecimal amount, long count) {
+        int updated = spendingRollupRepository.applyDelta(userId, year, month, category, amount, count);
+        if (updated == 0 && !createBucketIfAbsent(userId, year, month, category)) {
+            spendingRollupRepository.applyDelta(userId, year, month, category, amount, count);
+        }
+    }
+    
+    /**
+     * Buckets are created on first use, which on a database with history may be long after
+     * the month's first transaction, so they start from the rows already written
+     *
+     * @return true if this call created the bucket, whose seed then already includes this transaction's changes
+     */
+    private boolean createBucketIfAbsent(Long userId, int year, int month, String category) {
+        LocalDateTime monthStart = LocalDateTime.of(year, month, 1, 0, 0);
+        return spendingRollupRepository.insertBucketFromTransactions(userId, year, month, category,
+            monthStart, monthStart.plusMonths(1)) > 0;
+    }
+    
+    private record BucketKey(int year, int month, String category) {}
+    
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator.comparingInt(BucketKey::year)
+        .thenComparingInt(BucketKey::month)
+        .thenComparing(BucketKey::category);
+}
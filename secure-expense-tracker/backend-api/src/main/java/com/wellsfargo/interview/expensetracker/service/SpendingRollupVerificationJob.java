@@ -0,0 +1,95 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.SpendingRollupRepository;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job that recomputes spending rollups from raw transactions and repairs drift
+ *
+ * Users are processed in chunks, one short transaction per user, so the job can run
+ * while the API is serving traffic. Disabled unless app.rollup.verify-cron is set.
+ *
+ * On a database that has transactions but no rollups yet (the first start after rollups
+ * were introduced), all rollups are built once at startup, before the application
+ * reports itself ready for traffic.
+ */
+@Component
+public class SpendingRollupVerificationJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(SpendingRollupVerificationJob.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+    
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Value("${app.rollup.verify-chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${app.rollup.repair:true}")
+    private boolean repair;
+    
+    @Value("${app.rollup.build-on-startup:true}")
+    private boolean buildOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        if (buildOnStartup && spendingRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("No spending rollups found for existing transactions, building them");
+            run(true);
+        }
+    }
+    
+    @Scheduled(cron = "${app.rollup.verify-cron:-}")
+    public void scheduledRun() {
+        run(repair);
+    }
+    
+    /**
+     * Verify every user's rollups
+     *
+     * @return total number of drifted buckets found
+     */
+    public int run(boolean repair) {
+        int users = 0;
+        int drifted = 0;
+        Long lastId = 0L;
+        
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            for (Long userId : userIds) {
+                int userDrift = spendingRollupService.reconcileUser(userId, repair);
+                if (userDrift > 0) {
+                    log.warn("Spending rollups for user {} had {} drifted bucket(s){}",
+                        userId, userDrift, repair ? ", repaired" : "");
+                }
+                drifted += userDrift;
+                users++;
+                lastId = userId;
+            }
+        } while (userIds.size() == chunkSize);
+        
+        log.info("Verified spending rollups for {} users, {} drifted bucket(s)", users, drifted);
+        return drifted;
+    }
+}
@@ -0,0 +1,194 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wellsfargo.interview.expensetracker.config.MetricsConfig;
+import com.wellsfargo.interview.expensetracker.dto.ExportFormat;
+import com.wellsfargo.interview.expensetracker.dto.TransactionFields;
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.entity.Transaction;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.monitoring.RequestCost;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for streaming a user's transaction history as CSV or NDJSON
+ *
+ * Rows are read through a forward-only cursor, decrypted and written one at a time,
+ * and detached straight after, so memory stays flat regardless of history size.
+ * Without the description in the requested fields, rows are read as plain projections
+ * and nothing is decrypted.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class TransactionExportService {
+    
+    private static final int FLUSH_INTERVAL = 500;
+    
+    // Leading characters that make spreadsheets treat a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private EncryptionService encryptionService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Write the requested fields of all matching transactions to the output stream
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportTransactions(User user, Long categoryId, String category, 
+                                   LocalDateTime startDate, LocalDateTime endDate,
+                                   ExportFormat format, TransactionFields fields, 
+                                   OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writer(fields.toFilterProvider());
+        long rows = 0;
+        
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", fields.getNames()));
+            writer.write('\n');
+        }
+        
+        CategoryFilter categoryFilter = categoryService.resolveFilter(user.getId(), categoryId, category);
+        if (categoryFilter.matchesNothing()) {
+            writer.flush();
+            return rows;
+        }
+        
+        try (Stream<TransactionResponse> responses = fields.includesDescription()
+                ? transactionRepository.streamByUserWithFilters(user.getId(), categoryFilter.isAny(), 
+                    categoryFilter.getIds(), startDate, endDate).map(this::decryptAndDetach)
+                : transactionRepository.streamSummariesByUserWithFilters(user.getId(), categoryFilter.isAny(), 
+                    categoryFilter.getIds(), startDate, endDate)) {
+            Iterator<TransactionResponse> iterator = responses.iterator();
+            while (iterator.hasNext()) {
+                TransactionResponse response = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, response, fields);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(response));
+                    writer.write('\n');
+                }
+                
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        
+        writer.flush();
+        DistributionSummary.builder(MetricsConfig.QUERY_ROWS)
+            .baseUnit("rows")
+            .tag("query", "export")
+            .register(meterRegistry)
+            .record(rows);
+        RequestCost.addRowsFetched(rows);
+        return rows;
+    }
+    
+    private TransactionResponse decryptAndDetach(Transaction transaction) {
+        TransactionResponse response = new TransactionResponse(
+            transaction.getId(),
+            transaction.getAmount(),
+            transaction.getCategory(),
+            encryptionService.decrypt(transaction.getDescriptionCiphertext(), transaction.getEncryptedDescription()),
+            transaction.getTransactionDate(),
+            transaction.getCreatedAt(),
+            transaction.getUpdatedAt()
+        );
+        entityManager.detach(transaction);
+        return response;
+    }
+    
+    private void writeCsvRow(Writer writer, TransactionResponse response, TransactionFields fields) throws IOException {
+        boolean first = true;
+        for (String field : fields.getNames()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(csvField(csvValue(response, field)));
+            first = false;
+        }
+        writer.write('\n');
+    }
+    
+    private Object csvValue(TransactionResponse response, String field) {
+        return switch (field) {
+            case TransactionFields.ID -> response.getId();
+            case TransactionFields.AMOUNT -> response.getAmount();
+            case TransactionFields.CATEGORY -> response.getCategory();
+            case TransactionFields.DESCRIPTION -> response.getDescription();
+            case TransactionFields.TRANSACTION_DATE -> response.getTransactionDate();
+            case TransactionFields.CREATED_AT -> response.getCreatedAt();
+            case TransactionFields.UPDATED_AT -> response.getUpdatedAt();
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        };
+    }
+    
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        
+        String text;
+        if (value instanceof LocalDateTime dateTime) {
+            text = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+        } else if (value instanceof BigDecimal amount) {
+            text = amount.toPlainString();
+        } else if (value instanceof String string) {
+            text = neutralizeFormula(string);
+        } else {
+            text = value.toString();
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * Prefix user-entered text that a spreadsheet would evaluate as a formula with a quote
+     */
+    private static String neutralizeFormula(String text) {
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            return "'" + text;
+        }
+        return text;
+    }
+}
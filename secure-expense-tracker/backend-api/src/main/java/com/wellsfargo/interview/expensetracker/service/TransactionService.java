@@ -1,10 +1,24 @@
 package com.wellsfargo.interview.expensetracker.service;
 
+import com.wellsfargo.interview.expensetracker.config.CacheConfig;
+import com.wellsfargo.interview.expensetracker.config.MetricsConfig;
 import com.wellsfargo.interview.expensetracker.dto.*;
+import com.wellsfargo.interview.expensetracker.entity.SpendingRollup;
 import com.wellsfargo.interview.expensetracker.entity.Transaction;
 import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.entity.UserSpendingTotals;
 import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,10 +27,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +42,7 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TransactionService {
     
     @Autowired
@@ -32,38 +51,203 @@ public class TransactionService {
     @Autowired
     private EncryptionService encryptionService;
     
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+    
+    @Autowired
+    private UserTotalsService userTotalsService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
     /**
      * Create a new transaction
      */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
     public TransactionResponse createTransaction(User user, TransactionRequest request) {
+        CategoryDictionary.Entry category = categoryService.resolve(user.getId(), request.getCategory());
+        
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
+        transaction.setCategory(category.name());
+        transaction.setCategoryId(category.id());
         transaction.setTransactionDate(request.getTransactionDate() != null ? 
             request.getTransactionDate() : LocalDateTime.now());
         
         // Encrypt description if provided
         if (request.getDescription() != null && !request.getDescription().isEmpty()) {
-            String encryptedDescription = encryptionService.encrypt(request.getDescription());
-            transaction.setEncryptedDescription(encryptedDescription);
+            transaction.setDescriptionCiphertext(encryptionService.encryptToBytes(request.getDescription()));
         }
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        spendingRollupService.add(user.getId(), savedTransaction.getTransactionDate(), 
+            savedTransaction.getCategory(), savedTransaction.getAmount());
+        userTotalsService.applyDelta(user.getId(), savedTransaction.getAmount(), 1);
         return convertToResponse(savedTransaction);
     }
     
+    /**
+     * Create many transactions in one database transaction
+     * Items are validated individually; valid items are encrypted as a group and
+     * inserted in JDBC batches, flushing and clearing the persistence context per batch
+     */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
+    public BatchTransactionResponse createTransactions(User user, List<TransactionRequest> requests) {
+        List<BatchTransactionResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<TransactionRequest> accepted = new ArrayList<>();
+        
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            List<String> errors = request == null
+                ? List.of("Transaction is required")
+                : validator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            
+            if (errors.isEmpty()) {
+                acceptedIndexes.add(i);
+                accepted.add(request);
+                results.add(null);
+            } else {
+                results.add(BatchTransactionResponse.ItemResult.rejected(i, errors));
+            }
+        }
+        
+        List<byte[]> descriptionCiphertexts = encryptionService.encryptAll(accepted.stream()
+            .map(TransactionRequest::getDescription)
+            .toList());
+        Map<String, CategoryDictionary.Entry> categories = categoryService.resolveAll(user.getId(), accepted.stream()
+            .map(TransactionRequest::getCategory)
+            .distinct()
+            .toList());
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> created = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            TransactionRequest request = accepted.get(i);
+            CategoryDictionary.Entry category = categories.get(request.getCategory());
+            
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setAmount(request.getAmount());
+            transaction.setCategory(category.name());
+            transaction.setCategoryId(category.id());
+            transaction.setTransactionDate(request.getTransactionDate() != null ? 
+                request.getTransactionDate() : now);
+            transaction.setDescriptionCiphertext(descriptionCiphertexts.get(i));
+            
+            entityManager.persist(transaction);
+            created.add(transaction);
+            
+            if (created.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        for (int i = 0; i < created.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results.set(index, BatchTransactionResponse.ItemResult.created(index, created.get(i).getId()));
+        }
+        
+        spendingRollupService.addAll(user.getId(), created);
+        userTotalsService.applyDelta(user.getId(), created.stream()
+            .map(Transaction::getAmount)
+            .reduce(BigDecimal.ZERO, BigDecimal::add), created.size());
+        
+        return new BatchTransactionResponse(results);
+    }
+    
     /**
      * Get transactions with filtering and pagination
+     * Filters by exact category ID, or by category name prefix resolved through the category dictionary;
+     * descriptions are only selected and decrypted when the fieldset includes them
      */
     @Transactional(readOnly = true)
-    public Page<TransactionResponse> getTransactions(User user, String category, 
+    public Page<TransactionResponse> getTransactions(User user, Long categoryId, String category, 
                                                    LocalDateTime startDate, LocalDateTime endDate, 
-                                                   Pageable pageable) {
-        Page<Transaction> transactions = transactionRepository.findByUserWithFilters(
-            user, category, startDate, endDate, pageable);
+                                                   Pageable pageable, TransactionFields fields) {
+        CategoryFilter categoryFilter = categoryService.resolveFilter(user.getId(), categoryId, category);
+        if (categoryFilter.matchesNothing()) {
+            return Page.empty(pageable);
+        }
+        
+        if (!fields.includesDescription()) {
+            Page<TransactionResponse> transactions = transactionRepository.findSummariesByUserWithFilters(
+                user.getId(), categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, pageable);
+            recordRows("list", transactions.getNumberOfElements());
+            return transactions;
+        }
         
-        return transactions.map(this::convertToResponse);
+        Page<TransactionResponse> transactions = transactionRepository.findResponsesByUserWithFilters(
+            user.getId(), categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, pageable);
+        
+        decryptDescriptions(transactions.getContent());
+        recordRows("list", transactions.getNumberOfElements());
+        return transactions;
+    }
+    
+    /**
+     * Get transactions with filtering and keyset pagination on (transaction date, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> getTransactionsAfter(User user, Long categoryId, String category, 
+                                                                       LocalDateTime startDate, LocalDateTime endDate, 
+                                                                       TransactionCursor after, int size,
+                                                                       TransactionFields fields) {
+        CategoryFilter categoryFilter = categoryService.resolveFilter(user.getId(), categoryId, category);
+        if (categoryFilter.matchesNothing()) {
+            return new CursorPageResponse<>(List.of(), size, null);
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TransactionResponse> transactions;
+        if (fields.includesDescription()) {
+            transactions = after == null
+                ? transactionRepository.findFirstResponsesByUserWithFilters(user.getId(), 
+                    categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, limit)
+                : transactionRepository.findNextResponsesByUserWithFilters(user.getId(), 
+                    categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, 
+                    after.getTransactionDate(), after.getId(), limit);
+        } else {
+            transactions = after == null
+                ? transactionRepository.findFirstSummariesByUserWithFilters(user.getId(), 
+                    categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, limit)
+                : transactionRepository.findNextSummariesByUserWithFilters(user.getId(), 
+                    categoryFilter.isAny(), categoryFilter.getIds(), startDate, endDate, 
+                    after.getTransactionDate(), after.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            TransactionResponse last = transactions.get(size - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        
+        if (fields.includesDescription()) {
+            decryptDescriptions(transactions);
+        }
+        recordRows("cursor", transactions.size());
+        return new CursorPageResponse<>(transactions, size, nextCursor);
     }
     
     /**
@@ -71,125 +255,228 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public Optional<TransactionResponse> getTransactionById(User user, Long id) {
-        return transactionRepository.findById(id)
-            .filter(transaction -> transaction.getUser().getId().equals(user.getId()))
-            .map(this::convertToResponse);
+        return transactionRepository.findResponseByIdAndUserId(id, user.getId())
+            .map(response -> {
+                response.setDescription(encryptionService.decrypt(response.getDescriptionCiphertext(),
+                    response.getDescription()));
+                response.setDescriptionCiphertext(null);
+                return response;
+            });
     }
     
     /**
      * Update transaction
+     * Two statements on the row: a locking read, whose old values drive the rollup and totals
+     * deltas, then the UPDATE
      */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
     public Optional<TransactionResponse> updateTransaction(User user, Long id, TransactionRequest request) {
-        return transactionRepository.findById(id)
-            .filter(transaction -> transaction.getUser().getId().equals(user.getId()))
+        return transactionRepository.lockByIdAndUserId(id, user.getId())
             .map(transaction -> {
+                LocalDateTime oldDate = transaction.getTransactionDate();
+                String oldCategory = transaction.getCategory();
+                BigDecimal oldAmount = transaction.getAmount();
+                CategoryDictionary.Entry category = categoryService.resolve(user.getId(), request.getCategory());
+                
                 transaction.setAmount(request.getAmount());
-                transaction.setCategory(request.getCategory());
+                transaction.setCategory(category.name());
+                transaction.setCategoryId(category.id());
                 if (request.getTransactionDate() != null) {
                     transaction.setTransactionDate(request.getTransactionDate());
                 }
                 
-                // Update encrypted description
+                // Update encrypted description; a legacy value is superseded either way
                 if (request.getDescription() != null) {
-                    if (request.getDescription().isEmpty()) {
-                        transaction.setEncryptedDescription(null);
-                    } else {
-                        String encryptedDescription = encryptionService.encrypt(request.getDescription());
-                        transaction.setEncryptedDescription(encryptedDescription);
-                    }
+                    transaction.setDescriptionCiphertext(encryptionService.encryptToBytes(request.getDescription()));
+                    transaction.setEncryptedDescription(null);
                 }
                 
                 Transaction savedTransaction = transactionRepository.save(transaction);
+                spendingRollupService.move(user.getId(), oldDate, oldCategory, oldAmount, 
+                    savedTransaction.getTransactionDate(), savedTransaction.getCategory(), 
+                    savedTransaction.getAmount());
+                userTotalsService.applyDelta(user.getId(), savedTransaction.getAmount().subtract(oldAmount), 0);
                 return convertToResponse(savedTransaction);
             });
     }
     
     /**
      * Delete transaction
+     * Two statements on the row: a locking read, whose values drive the rollup and totals
+     * deltas, then the DELETE
      */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
     public boolean deleteTransaction(User user, Long id) {
-        return transactionRepository.findById(id)
-            .filter(transaction -> transaction.getUser().getId().equals(user.getId()))
+        return transactionRepository.lockByIdAndUserId(id, user.getId())
             .map(transaction -> {
                 transactionRepository.delete(transaction);
+                spendingRollupService.remove(user.getId(), transaction.getTransactionDate(), 
+                    transaction.getCategory(), transaction.getAmount());
+                userTotalsService.applyDelta(user.getId(), transaction.getAmount().negate(), -1);
                 return true;
             })
             .orElse(false);
     }
     
+    /**
+     * Delete many transactions with one set-based DELETE
+     * IDs that do not exist or belong to another user are ignored
+     *
+     * @return number of transactions deleted
+     */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
+    public int deleteTransactions(User user, Collection<Long> ids) {
+        transactionRepository.lockByIds(user.getId(), ids);
+        List<Object[]> summary = transactionRepository.getMonthlyCategorySummaryByIds(user.getId(), ids);
+        int deleted = transactionRepository.deleteByIdsAndUserId(user.getId(), ids);
+        checkAffectedRows(summary, deleted);
+        
+        spendingRollupService.removeAll(user.getId(), summary);
+        userTotalsService.applyDelta(user.getId(), summaryTotal(summary).negate(), -deleted);
+        return deleted;
+    }
+    
+    /**
+     * Move every transaction of a category, optionally within a date range, to another category
+     * with one set-based UPDATE
+     *
+     * @return number of transactions recategorized
+     */
+    @CacheEvict(cacheNames = CacheConfig.USER_STATS, key = "#user.id")
+    public int recategorizeTransactions(User user, String category, LocalDateTime startDate, 
+                                        LocalDateTime endDate, String newCategory) {
+        Optional<CategoryDictionary.Entry> from = categoryService.find(user.getId(), category);
+        if (from.isEmpty()) {
+            return 0;
+        }
+        CategoryDictionary.Entry to = categoryService.resolve(user.getId(), newCategory);
+        
+        transactionRepository.lockByCategory(user.getId(), from.get().id(), startDate, endDate);
+        List<Object[]> summary = transactionRepository.getMonthlyCategorySummaryByCategory(
+            user.getId(), from.get().id(), startDate, endDate);
+        int updated = transactionRepository.recategorize(user.getId(), from.get().id(), startDate, endDate, 
+            to.id(), to.name(), LocalDateTime.now());
+        checkAffectedRows(summary, updated);
+        
+        spendingRollupService.recategorize(user.getId(), summary, to.name());
+        return updated;
+    }
+    
     /**
      * Generate monthly report
+     * Totals and category breakdown come from the spending rollups, daily spending
+     * is aggregated in the database
      */
     @Transactional(readOnly = true)
     public MonthlyReportResponse generateMonthlyReport(User user, int year, int month) {
         LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0, 0);
-        LocalDateTime endDate = startDate.plusMonths(1).minusSeconds(1);
+        LocalDateTime endDate = startDate.plusMonths(1);
         
-        Page<Transaction> transactions = transactionRepository.findByUserAndDateRange(
-            user, startDate, endDate, PageRequest.of(0, Integer.MAX_VALUE));
+        List<SpendingRollup> rollups = spendingRollupService.getMonth(user.getId(), year, month);
+        MonthlyReportResponse report = summarizeRollups(year, month, rollups);
+        if (rollups.isEmpty()) {
+            return report;
+        }
         
-        List<Transaction> transactionList = transactions.getContent();
+        // Daily spending keyed by ISO date, in calendar order
+        Map<String, BigDecimal> dailySpending = new LinkedHashMap<>();
+        for (Object[] row : transactionRepository.getDailySpendingByDateRange(user, startDate, endDate)) {
+            LocalDate day = LocalDate.of(year, month, ((Number) row[0]).intValue());
+            dailySpending.put(day.toString(), (BigDecimal) row[1]);
+        }
+        report.setDailySpending(dailySpending);
+        recordRows("report", rollups.size() + dailySpending.size());
         
-        if (transactionList.isEmpty()) {
+        return report;
+    }
+    
+    /**
+     * Build a report's totals and category breakdown from a month's rollup buckets
+     */
+    static MonthlyReportResponse summarizeRollups(int year, int month, List<SpendingRollup> rollups) {
+        if (rollups.isEmpty()) {
             return new MonthlyReportResponse(year, month, Month.of(month).name(), 
                 BigDecimal.ZERO, 0, BigDecimal.ZERO);
         }
         
-        // Calculate totals
-        BigDecimal totalSpent = transactionList.stream()
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Calculate totals from the per-category buckets
+        BigDecimal totalSpent = BigDecimal.ZERO;
+        long transactionCount = 0;
+        for (SpendingRollup rollup : rollups) {
+            totalSpent = totalSpent.add(rollup.getTotal());
+            transactionCount += rollup.getCount();
+        }
         
         BigDecimal averageTransaction = totalSpent.divide(
-            BigDecimal.valueOf(transactionList.size()), 2, RoundingMode.HALF_UP);
+            BigDecimal.valueOf(transactionCount), 2, RoundingMode.HALF_UP);
         
         MonthlyReportResponse report = new MonthlyReportResponse(
             year, month, Month.of(month).name(), 
-            totalSpent, transactionList.size(), averageTransaction);
-        
-        // Calculate category breakdown
-        List<MonthlyReportResponse.CategorySpending> categoryBreakdown = new ArrayList<>();
-        transactionList.stream()
-            .collect(java.util.stream.Collectors.groupingBy(
-                Transaction::getCategory,
-                java.util.stream.Collectors.reducing(BigDecimal.ZERO, 
-                    Transaction::getAmount, BigDecimal::add)))
-            .entrySet().stream()
-            .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-            .forEach(entry -> {
-                String category = entry.getKey();
-                BigDecimal amount = entry.getValue();
-                double percentage = amount.divide(totalSpent, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100)).doubleValue();
-                
-                long count = transactionList.stream()
-                    .filter(t -> t.getCategory().equals(category))
-                    .count();
-                
-                categoryBreakdown.add(new MonthlyReportResponse.CategorySpending(
-                    category, amount, percentage, (int) count));
-            });
+            totalSpent, (int) transactionCount, averageTransaction);
         
+        // Category breakdown, already ordered by amount descending
+        List<MonthlyReportResponse.CategorySpending> categoryBreakdown = new ArrayList<>(rollups.size());
+        for (SpendingRollup rollup : rollups) {
+            double percentage = totalSpent.signum() == 0 ? 0 : rollup.getTotal()
+                .divide(totalSpent, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue();
+            
+            categoryBreakdown.add(new MonthlyReportResponse.CategorySpending(
+                rollup.getCategory(), rollup.getTotal(), percentage, rollup.getCount().intValue()));
+        }
         report.setCategoryBreakdown(categoryBreakdown);
-        
         return report;
     }
     
+    /**
+     * Get spending by category across all months
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getSpendingByCategory(User user) {
+        return spendingRollupService.getSpendingByCategory(user.getId());
+    }
+    
+    /**
+     * Get monthly spending from the month of the given date onwards
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getMonthlySpending(User user, LocalDateTime startDate) {
+        return spendingRollupService.getMonthlySpending(user.getId(), startDate);
+    }
+    
     /**
      * Get user statistics
+     * Always built with every transaction field and cached per user; sparse fieldsets are
+     * filtered when the response is serialized, so they are served from the same entry
+     *
+     * Loaded with sync so the entry is stored as the load completes, not at the reader's commit:
+     * a writer's eviction after its commit waits for an in-flight load and then removes it,
+     * so a response built before that commit cannot be cached after the eviction.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_STATS, key = "#user.id", sync = true)
     public UserStatsResponse getUserStats(User user) {
-        BigDecimal totalSpent = transactionRepository.getTotalSpendingByUser(user);
-        long transactionCount = transactionRepository.countByUser(user);
-        BigDecimal averageAmount = transactionRepository.getAverageTransactionAmount(user);
+        BigDecimal totalSpent;
+        long transactionCount;
+        BigDecimal averageAmount;
         
-        List<Transaction> recentTransactions = transactionRepository
-            .findTop10ByUserOrderByTransactionDateDesc(user, PageRequest.of(0, 10));
+        Optional<UserSpendingTotals> totals = userTotalsService.getTotals(user.getId());
+        if (totals.isPresent()) {
+            totalSpent = totals.get().getTotalSpent();
+            transactionCount = totals.get().getTransactionCount();
+            averageAmount = transactionCount == 0 ? null : totalSpent.divide(
+                BigDecimal.valueOf(transactionCount), 2, RoundingMode.HALF_UP);
+        } else {
+            // Counters not initialised yet (reconciliation backfills them)
+            totalSpent = transactionRepository.getTotalSpendingByUser(user);
+            transactionCount = transactionRepository.countByUser(user);
+            averageAmount = transactionRepository.getAverageTransactionAmount(user);
+        }
         
-        List<TransactionResponse> recentTransactionResponses = recentTransactions.stream()
-            .map(this::convertToResponse)
-            .toList();
+        List<TransactionResponse> recentTransactionResponses = transactionRepository
+            .findRecentResponsesByUserId(user.getId(), PageRequest.of(0, 10));
+        decryptDescriptions(recentTransactionResponses);
+        recordRows("stats", recentTransactionResponses.size());
         
         return new UserStatsResponse(totalSpent, transactionCount, 
             averageAmount != null ? averageAmount : BigDecimal.ZERO, 
@@ -197,14 +484,62 @@ public class TransactionService {
     }
     
     /**
-     * Convert Transaction entity to TransactionResponse DTO
+     * Rollup and totals deltas are derived from the summary read just before the bulk statement.
+     * The matching rows are locked before that read, so a mismatch here means rows were inserted
+     * into the match concurrently; roll back rather than drift
      */
-    private TransactionResponse convertToResponse(Transaction transaction) {
-        String decryptedDescription = null;
-        if (transaction.getEncryptedDescription() != null) {
-            decryptedDescription = encryptionService.decrypt(transaction.getEncryptedDescription());
+    private void checkAffectedRows(List<Object[]> summary, int affected) {
+        long expected = summary.stream().mapToLong(row -> ((Number) row[4]).longValue()).sum();
+        if (expected != affected) {
+            throw new OptimisticLockingFailureException(
+                "Transactions changed concurrently: expected " + expected + " rows, affected " + affected);
         }
+    }
+    
+    private BigDecimal summaryTotal(List<Object[]> summary) {
+        return summary.stream()
+            .map(row -> (BigDecimal) row[3])
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    private void recordRows(String query, int rows) {
+        DistributionSummary.builder(MetricsConfig.QUERY_ROWS)
+            .baseUnit("rows")
+            .tag("query", query)
+            .register(meterRegistry)
+            .record(rows);
+    }
+    
+    /**
+     * Convert Transaction entity to TransactionResponse DTO
+     */
+    TransactionResponse convertToResponse(Transaction transaction) {
+        String decryptedDescription = encryptionService.decrypt(transaction.getDescriptionCiphertext(),
+            transaction.getEncryptedDescription());
+        return convertToResponse(transaction, decryptedDescription);
+    }
+    
+    /**
+     * Decrypt the descriptions of projected responses in place, in one batch
+     * Rows not yet backfilled are decrypted from their legacy Base64 form
+     */
+    void decryptDescriptions(List<TransactionResponse> responses) {
+        List<String> decryptedDescriptions = encryptionService.decryptAll(responses.stream()
+            .map(TransactionResponse::getDescriptionCiphertext)
+            .toList());
         
+        for (int i = 0; i < responses.size(); i++) {
+            TransactionResponse response = responses.get(i);
+            if (response.getDescriptionCiphertext() != null) {
+                response.setDescription(decryptedDescriptions.get(i));
+            } else {
+                response.setDescription(encryptionService.decrypt(response.getDescription()));
+            }
+            response.setDescriptionCiphertext(null);
+        }
+    }
+    
+    private TransactionResponse convertToResponse(Transaction transaction, String decryptedDescription) {
         return new TransactionResponse(
             transaction.getId(),
             transaction.getAmount(),
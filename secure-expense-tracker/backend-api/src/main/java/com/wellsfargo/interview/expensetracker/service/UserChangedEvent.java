@@ -0,0 +1,17 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+/**
+ * Published when a user account is updated or deleted
+ */
+public class UserChangedEvent {
+    
+    private final Long userId;
+    
+    public UserChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+}
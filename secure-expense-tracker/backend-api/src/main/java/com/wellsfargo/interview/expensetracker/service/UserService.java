@@ -0,0 +1,172 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.config.JwtTokenProvider;
+import com.wellsfargo.interview.expensetracker.config.PasswordHashingExecutor;
+import com.wellsfargo.interview.expensetracker.dto.AuthResponse;
+import com.wellsfargo.interview.expensetracker.dto.LoginRequest;
+import com.wellsfargo.interview.expensetracker.dto.RegisterRequest;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.exception.AuthenticationFailedException;
+import com.wellsfargo.interview.expensetracker.exception.UsernameAlreadyExistsException;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Service for user registration and login
+ *
+ * bcrypt hashing and verification run on the bounded password hashing executor, so the
+ * request thread is never held while a hash is computed. When every hashing thread is busy,
+ * work queues up to app.auth.hashing.queue-capacity; beyond that, submission fails straight
+ * away with a RejectedExecutionException. Saving users and issuing tokens then continue on
+ * the application task executor, leaving the hashing threads to bcrypt alone.
+ */
+@Service
+public class UserService {
+    
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor applicationTaskExecutor;
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+    
+    @Autowired
+    private UsernameBloomFilter usernameBloomFilter;
+    
+    @Value("${app.auth.lockout.max-attempts:3}")
+    private int lockoutAttempts;
+    
+    private String dummyHash;
+    
+    @PostConstruct
+    void init() {
+        dummyHash = passwordEncoder.encode("dummy-password");
+    }
+    
+    /**
+     * Register a new user and issue a token
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
+        String username = request.getUsername();
+        if (usernameBloomFilter.mightContain(username) && userRepository.existsByUsername(username)) {
+            return CompletableFuture.failedFuture(new UsernameAlreadyExistsException(username));
+        }
+        
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+            .thenApplyAsync(hash -> {
+                User user;
+                try {
+                    user = userRepository.save(new User(username, hash));
+                } catch (DataIntegrityViolationException e) {
+                    // Registered concurrently under the same name
+                    throw new UsernameAlreadyExistsException(username);
+                }
+                usernameBloomFilter.put(username);
+                return authResponse(user);
+            }, applicationTaskExecutor);
+    }
+    
+    /**
+     * Verify credentials and issue a token
+     *
+     * Failed attempts are counted in memory; the users row is only written when the
+     * account locks or unlocks, or when a password hashed with an outdated bcrypt cost
+     * is rehashed with the current one on successful login.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        String username = request.getUsername();
+        String password = request.getPassword();
+        // Not screened by the Bloom filter: a filter that missed a registration made on another
+        // node would lock that user out, whereas registration falls back to the unique constraint
+        Optional<User> found = userRepository.findByUsername(username);
+        
+        if (found.isEmpty() || !found.get().isEnabled()) {
+            // Spend the same hashing time as a real check so timing does not reveal unknown usernames
+            return passwordHashingExecutor.submit(() -> passwordEncoder.matches(password, dummyHash))
+                .thenApply(matched -> {
+                    throw new AuthenticationFailedException(INVALID_CREDENTIALS);
+                });
+        }
+        
+        User user = found.get();
+        if (!user.isAccountNonLocked() || loginAttemptTracker.isLocked(user.getId())) {
+            return CompletableFuture.failedFuture(new AuthenticationFailedException("Account is locked"));
+        }
+        
+        return passwordHashingExecutor.submit(() -> checkPassword(password, user.getPassword()))
+            .thenApplyAsync(check -> check.matched() ? onLoginSuccess(user, check.rehash()) : onLoginFailure(user),
+                applicationTaskExecutor);
+    }
+    
+    /**
+     * Runs on the hashing thread, so a rehash with the current bcrypt cost is bounded by the same pool
+     */
+    private PasswordCheck checkPassword(String password, String hash) {
+        if (!passwordEncoder.matches(password, hash)) {
+            return new PasswordCheck(false, null);
+        }
+        return new PasswordCheck(true, passwordEncoder.upgradeEncoding(hash) ? passwordEncoder.encode(password) : null);
+    }
+    
+    private AuthResponse onLoginSuccess(User user, String rehash) {
+        loginAttemptTracker.recordSuccess(user.getId());
+        
+        boolean changed = false;
+        if (user.getLockedUntil() != null) {
+            // An expired lock is cleared
+            user.unlock();
+            changed = true;
+        }
+        if (rehash != null) {
+            user.setPassword(rehash);
+            changed = true;
+        }
+        
+        User saved = changed ? userRepository.save(user) : user;
+        return authResponse(saved);
+    }
+    
+    private AuthResponse onLoginFailure(User user) {
+        LocalDateTime lockedUntil = loginAttemptTracker.recordFailure(user.getId());
+        if (lockedUntil != null) {
+            user.lock(lockedUntil, lockoutAttempts);
+            userRepository.save(user);
+        }
+        throw new AuthenticationFailedException(INVALID_CREDENTIALS);
+    }
+    
+    private AuthResponse authResponse(User user) {
+        return new AuthResponse(jwtTokenProvider.generateToken(user), user.getUsername(), user.getId());
+    }
+    
+    /**
+     * Outcome of a password check, with the password rehashed if its bcrypt cost is outdated
+     */
+    private record PasswordCheck(boolean matched, String rehash) {}
+}
@@ -0,0 +1,65 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the account fields needed to authenticate a request
+ *
+ * Cached per user so verified tokens can be turned into a principal without loading
+ * the JPA entity; never holds the password hash.
+ */
+public final class UserSnapshot {
+    
+    private final Long id;
+    private final String username;
+    private final boolean enabled;
+    private final boolean accountNonExpired;
+    private final boolean credentialsNonExpired;
+    private final LocalDateTime lockedUntil;
+    
+    private UserSnapshot(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.enabled = Boolean.TRUE.equals(user.getEnabled());
+        this.accountNonExpired = Boolean.TRUE.equals(user.getAccountNonExpired());
+        this.credentialsNonExpired = Boolean.TRUE.equals(user.getCredentialsNonExpired());
+        this.lockedUntil = user.getLockedUntil();
+    }
+    
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user);
+    }
+    
+    /**
+     * Whether the account may authenticate right now (enabled, not expired, not locked)
+     */
+    public boolean isActive() {
+        return enabled && accountNonExpired && credentialsNonExpired
+            && (lockedUntil == null || LocalDateTime.now().isAfter(lockedUntil));
+    }
+    
+    /**
+     * Build a detached User carrying the snapshot fields, for use as the request principal
+     * Only the ID is used when it is passed back into persistence operations
+     */
+    public User toPrincipal() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEnabled(enabled);
+        user.setAccountNonExpired(accountNonExpired);
+        user.setCredentialsNonExpired(credentialsNonExpired);
+        user.setLockedUntil(lockedUntil);
+        return user;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,43 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.config.CacheConfig;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service caching lightweight user snapshots for request authentication
+ *
+ * Snapshots are evicted by {@link UserChangedEvent} as soon as the transaction that
+ * changed the account completes, so lock and enable changes apply on the next request.
+ */
+@Service
+public class UserSnapshotService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    /**
+     * Get a user's snapshot, or null if the user does not exist
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_SNAPSHOTS, key = "#userId", sync = true)
+    @Transactional(readOnly = true)
+    public UserSnapshot getSnapshot(Long userId) {
+        return userRepository.findById(userId)
+            .map(UserSnapshot::of)
+            .orElse(null);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cacheManager.getCache(CacheConfig.USER_SNAPSHOTS).evictIfPresent(event.getUserId());
+    }
+}
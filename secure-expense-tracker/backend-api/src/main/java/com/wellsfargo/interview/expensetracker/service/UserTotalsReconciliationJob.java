@@ -0,0 +1,68 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job that checks each user's running totals against the transactions table
+ *
+ * Users are processed in chunks, one short transaction per user, so the job can run
+ * while the API is serving traffic. Disabled unless app.totals.reconcile-cron is set.
+ */
+@Component
+public class UserTotalsReconciliationJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserTotalsReconciliationJob.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserTotalsService userTotalsService;
+    
+    @Value("${app.totals.reconcile-chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${app.totals.repair:true}")
+    private boolean repair;
+    
+    @Scheduled(cron = "${app.totals.reconcile-cron:-}")
+    public void scheduledRun() {
+        run(repair);
+    }
+    
+    /**
+     * Reconcile every user's totals
+     *
+     * @return number of users whose counters had drifted
+     */
+    public int run(boolean repair) {
+        int users = 0;
+        int drifted = 0;
+        Long lastId = 0L;
+        
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            for (Long userId : userIds) {
+                if (userTotalsService.reconcileUser(userId, repair)) {
+                    log.warn("Spending totals for user {} had drifted{}", userId, repair ? ", repaired" : "");
+                    drifted++;
+                }
+                users++;
+                lastId = userId;
+            }
+        } while (userIds.size() == chunkSize);
+        
+        log.info("Reconciled spending totals for {} users, {} drifted", users, drifted);
+        return drifted;
+    }
+}
@@ -0,0 +1,89 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.entity.UserSpendingTotals;
+import com.wellsfargo.interview.expensetracker.repository.TransactionRepository;
+import com.wellsfargo.interview.expensetracker.repository.UserSpendingTotalsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Service maintaining each user's running total spent and transaction count
+ *
+ * Deltas are applied with a single atomic UPDATE in the caller's transaction,
+ * so concurrent writes for the same user serialise on the row and never lose updates.
+ * A delta is only as exact as the old values it was computed from: callers changing
+ * an existing transaction read it under a row lock first.
+ * A user's first write creates the row from their existing transactions, in that same transaction.
+ */
+@Service
+@Transactional
+public class UserTotalsService {
+    
+    @Autowired
+    private UserSpendingTotalsRepository userSpendingTotalsRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    /**
+     * Add an amount and a transaction count (either may be negative)
+     */
+    public void applyDelta(Long userId, BigDecimal amount, long count) {
+        if (amount.signum() == 0 && count == 0) {
+            return;
+        }
+        
+        int updated = userSpendingTotalsRepository.applyDelta(userId, amount, count);
+        if (updated == 0 && !createIfAbsent(userId)) {
+            userSpendingTotalsRepository.applyDelta(userId, amount, count);
+        }
+    }
+    
+    /**
+     * Get a user's running totals, empty if they have not been initialised yet
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserSpendingTotals> getTotals(Long userId) {
+        return userSpendingTotalsRepository.findById(userId);
+    }
+    
+    /**
+     * Recompute a user's totals from raw transactions and compare them with the stored counters
+     *
+     * The totals row stays locked until commit, so concurrent writes for the same user
+     * queue behind the check and apply their deltas on top of the repaired values.
+     *
+     * @return true if the counters had drifted
+     */
+    public boolean reconcileUser(Long userId, boolean repair) {
+        Optional<UserSpendingTotals> stored = userSpendingTotalsRepository.findByUserIdForUpdate(userId);
+        
+        Object[] actual = transactionRepository.getTotalsByUserId(userId).get(0);
+        BigDecimal totalSpent = (BigDecimal) actual[0];
+        long count = ((Number) actual[1]).longValue();
+        
+        boolean drifted = stored
+            .map(totals -> totals.getTransactionCount() != count || totals.getTotalSpent().compareTo(totalSpent) != 0)
+            .orElse(count > 0);
+        
+        if (drifted && repair) {
+            if (stored.isEmpty()) {
+                createIfAbsent(userId);
+            }
+            userSpendingTotalsRepository.overwrite(userId, totalSpent, count);
+        }
+        
+        return drifted;
+    }
+    
+    /**
+     * @return true if this call created the row, whose seed then already includes this transaction's writes
+     */
+    private boolean createIfAbsent(Long userId) {
+        return userSpendingTotalsRepository.insertFromTransactions(userId) > 0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over all usernames, answering "definitely not registered" without a query
+ *
+ * Until the startup scan has finished, and whenever the filter is disabled, every name
+ * is reported as possibly present, so callers fall back to the database. Registrations
+ * made on other nodes are only picked up by the periodic rebuild, so the filter only
+ * screens registration, where such a miss still ends at the unique constraint on the
+ * username; login always looks the user up.
+ */
+@Component
+public class UsernameBloomFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UsernameBloomFilter.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.auth.username-bloom.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.auth.username-bloom.expected-users:1000000}")
+    private long expectedUsers;
+    
+    @Value("${app.auth.username-bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private volatile Bits bits;
+    
+    // Receives registrations made while a rebuild is scanning
+    private volatile Bits building;
+    
+    // Not synchronized: the scan does database I/O and must not pin a virtual thread's carrier
+    private final Lock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    @Scheduled(cron = "${app.auth.username-bloom.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Rebuild the filter from a streaming scan of the users table
+     *
+     * @return number of usernames added
+     */
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            return doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private long doRebuild() {
+        Bits next = Bits.create(expectedUsers, falsePositiveRate);
+        building = next;
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long count = transaction.execute(status -> {
+            long added = 0;
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                for (String username : (Iterable<String>) usernames::iterator) {
+                    next.put(username);
+                    added++;
+                }
+            }
+            return added;
+        });
+        
+        bits = next;
+        building = null;
+        log.info("Username Bloom filter built from {} users ({} bits, {} hashes)", 
+            count, next.bitCount(), next.hashCount);
+        return count;
+    }
+    
+    /**
+     * Record a newly registered username
+     */
+    public void put(String username) {
+        // Read the rebuild target first: it is only cleared after the new filter is published
+        Bits next = building;
+        if (next != null) {
+            next.put(username);
+        }
+        Bits current = bits;
+        if (current != null) {
+            current.put(username);
+        }
+    }
+    
+    /**
+     * @return false only if the username is definitely not registered
+     */
+    public boolean mightContain(String username) {
+        Bits current = bits;
+        return !enabled || current == null || current.mightContain(username);
+    }
+    
+    /**
+     * Bit array shared lock-free between readers and writers
+     */
+    private static final class Bits {
+        
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        
+        private Bits(long bitCount, int hashCount) {
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+            this.bitCount = (long) words.length() << 6;
+            this.hashCount = hashCount;
+        }
+        
+        static Bits create(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+            return new Bits(Math.max(64, m), k);
+        }
+        
+        long bitCount() {
+            return bitCount;
+        }
+        
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                long mask = 1L << bit;
+                int index = (int) (bit >>> 6);
+                if ((words.get(index) & mask) == 0) {
+                    words.getAndAccumulate(index, mask, (word, m) -> word | m);
+                }
+            }
+        }
+        
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         * 64-bit FNV-1a over the UTF-8 bytes, finalised with a mixer for better bit spread
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
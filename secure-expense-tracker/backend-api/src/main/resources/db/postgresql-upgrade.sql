@@ -0,0 +1,85 @@
+-- Schema upgrade for PostgreSQL databases created by earlier versions of the API
+--
+-- The prod profile runs with spring.jpa.hibernate.ddl-auto=validate and there is no migration
+-- tool, so apply this before deploying, e.g. psql -d expense_tracker -f postgresql-upgrade.sql
+-- Run it with psql and without --single-transaction: the index rebuild at the end uses \gexec
+-- and CREATE INDEX CONCURRENTLY, which cannot run inside a transaction block.
+-- Every statement is safe to run again on an upgraded database.
+--
+-- Data is migrated by the application, not here:
+-- - spending_rollup is built on startup (app.rollup.build-on-startup)
+-- - user_spending_totals rows are created on each user's first write
+-- - transactions.category_id is backfilled on startup (app.categories.backfill-on-startup)
+-- - description_ciphertext is only filled by DescriptionBackfillJob once app.descriptions.backfill-cron
+--   is set; until then descriptions keep being read from encrypted_description
+
+BEGIN;
+
+-- Binary ciphertext, replacing the Base64 LOB in encrypted_description
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS description_ciphertext bytea;
+
+-- Dictionary-encoded category
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category_id bigint;
+
+-- Transaction ids are allocated 50 at a time so inserts can be batched; start past existing ids
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('transactions_seq', GREATEST(
+    (SELECT last_value FROM transactions_seq),
+    (SELECT COALESCE(MAX(id), 0) FROM transactions) + 50));
+
+CREATE INDEX IF NOT EXISTS idx_user_category_id_date ON transactions (user_id, category_id, transaction_date);
+
+-- A concurrently created duplicate user category fails on this constraint; remove any
+-- duplicate (user_id, name) rows first
+DROP INDEX IF EXISTS idx_user_category;
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_user_category') THEN
+        ALTER TABLE categories ADD CONSTRAINT uk_user_category UNIQUE (user_id, name);
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS spending_rollup (
+    id bigserial NOT NULL,
+    user_id bigint NOT NULL,
+    "year" integer NOT NULL,
+    "month" integer NOT NULL,
+    category varchar(100) NOT NULL,
+    total numeric(19,2) NOT NULL,
+    "count" bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_bucket UNIQUE (user_id, "year", "month", category)
+);
+
+CREATE TABLE IF NOT EXISTS user_spending_totals (
+    user_id bigint NOT NULL,
+    total_spent numeric(19,2) NOT NULL,
+    transaction_count bigint NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+COMMIT;
+
+-- idx_user_date gains id as a trailing column for keyset pagination. The replacement is built
+-- concurrently under a temporary name and swapped in, so writes to transactions are not blocked,
+-- and only when the existing index does not have that definition yet.
+
+-- An interrupted concurrent build leaves an invalid index behind
+SELECT 'DROP INDEX CONCURRENTLY idx_user_date_new'
+FROM pg_index WHERE indexrelid = to_regclass('idx_user_date_new') AND NOT indisvalid
+\gexec
+
+SELECT 'CREATE INDEX CONCURRENTLY idx_user_date_new ON transactions (user_id, transaction_date, id)'
+WHERE to_regclass('idx_user_date_new') IS NULL
+  AND NOT EXISTS (SELECT 1 FROM pg_indexes
+                  WHERE schemaname = current_schema() AND indexname = 'idx_user_date'
+                    AND indexdef LIKE '%USING btree (user_id, transaction_date, id)')
+\gexec
+
+SELECT 'DROP INDEX CONCURRENTLY IF EXISTS idx_user_date'
+WHERE to_regclass('idx_user_date_new') IS NOT NULL
+\gexec
+
+SELECT 'ALTER INDEX idx_user_date_new RENAME TO idx_user_date'
+WHERE to_regclass('idx_user_date_new') IS NOT NULL
+\gexec
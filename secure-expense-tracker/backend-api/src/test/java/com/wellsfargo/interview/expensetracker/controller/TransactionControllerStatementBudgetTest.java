@@ -0,0 +1,141 @@
+package com.wellsfargo.interview.expensetracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellsfargo.interview.expensetracker.dto.AuthResponse;
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.monitoring.StatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.wellsfargo.interview.expensetracker.monitoring.StatementBudgetAssertions.perform;
+import static com.wellsfargo.interview.expensetracker.monitoring.StatementBudgetAssertions.withinStatementBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every transaction endpoint stays within its SQL statement budget, with enough rows in
+ * play that an N+1 query would exceed it
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionControllerStatementBudgetTest {
+    
+    private static final int TRANSACTIONS = 30;
+    private static final String[] CATEGORIES = {"Food", "Transportation", "Entertainment"};
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    
+    private String authorization;
+    private final List<Long> ids = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        String username = "budget-" + UUID.randomUUID().toString().substring(0, 8);
+        MvcResult registered = perform(mockMvc, post("/api/auth/register")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"));
+        authorization = "Bearer " + objectMapper.readValue(
+            registered.getResponse().getContentAsString(), AuthResponse.class).getToken();
+        
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            MvcResult created = perform(mockMvc, authorized(post("/api/transactions"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(transaction(i)));
+            ids.add(objectMapper.readValue(created.getResponse().getContentAsString(), TransactionResponse.class).getId());
+        }
+    }
+    
+    @Test
+    void everyTransactionEndpointDeclaresABudget() {
+        List<String> unbudgeted = handlerMapping.getHandlerMethods().entrySet().stream()
+            .filter(entry -> entry.getKey().getPatternValues().stream().anyMatch(pattern -> pattern.startsWith("/api/transactions")))
+            .map(entry -> entry.getValue())
+            .filter(handler -> !handler.hasMethodAnnotation(StatementBudget.class))
+            .map(HandlerMethod::getShortLogMessage)
+            .toList();
+        
+        assertThat(unbudgeted).isEmpty();
+    }
+    
+    @Test
+    void writesStayWithinBudget() throws Exception {
+        expectWithinBudget(authorized(post("/api/transactions"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(transaction(TRANSACTIONS)));
+        expectWithinBudget(authorized(post("/api/transactions/batch"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"transactions\":[" + transaction(1) + "," + transaction(2) + "," + transaction(3) + "]}"));
+        expectWithinBudget(authorized(put("/api/transactions/" + ids.get(0)))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(transaction(4)));
+        expectWithinBudget(authorized(delete("/api/transactions/" + ids.get(1))));
+        expectWithinBudget(authorized(post("/api/transactions/bulk-delete"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"ids\":[" + ids.get(2) + "," + ids.get(3) + "," + ids.get(4) + "," + ids.get(5) + "]}"));
+        expectWithinBudget(authorized(post("/api/transactions/recategorize"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"category\":\"Food\",\"newCategory\":\"Transportation\"," +
+                "\"startDate\":\"2025-01-01T00:00:00\",\"endDate\":\"2025-01-31T23:59:59\"}"));
+        expectWithinBudget(authorized(post("/api/transactions/recategorize"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"category\":\"Entertainment\",\"newCategory\":\"Leisure\"}"));
+    }
+    
+    @Test
+    void readsStayWithinBudget() throws Exception {
+        expectWithinBudget(authorized(get("/api/transactions")));
+        expectWithinBudget(authorized(get("/api/transactions")).param("category", "Fo").param("size", "50"));
+        expectWithinBudget(authorized(get("/api/transactions")).param("fields", "amount,category"));
+        expectWithinBudget(authorized(get("/api/transactions")).param("cursor", "").param("size", "50"));
+        expectWithinBudget(authorized(get("/api/transactions/" + ids.get(0))));
+        expectWithinBudget(authorized(get("/api/transactions/stats")));
+        expectWithinBudget(authorized(get("/api/transactions/reports/monthly")).param("year", "2025").param("month", "1"));
+        expectWithinBudget(authorized(get("/api/transactions/export")).param("format", "csv"));
+        expectWithinBudget(authorized(get("/api/transactions/export")).param("format", "ndjson"));
+    }
+    
+    private void expectWithinBudget(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = perform(mockMvc, request);
+        status().is2xxSuccessful().match(result);
+        withinStatementBudget().match(result);
+    }
+    
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, authorization);
+    }
+    
+    /**
+     * Spread over three categories and three months, so summaries span several rollup buckets
+     */
+    private static String transaction(int i) {
+        return "{\"amount\":" + (10 + i) + ".50,\"category\":\"" + CATEGORIES[i % CATEGORIES.length] + "\"," +
+            "\"description\":\"Transaction " + i + "\",\"transactionDate\":\"2025-0" + (i % 3 + 1) + "-1" + (i % 9) + "T12:00:00\"}";
+    }
+}
@@ -0,0 +1,51 @@
+package com.wellsfargo.interview.expensetracker.monitoring;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Asserts that MockMvc requests stay within their endpoint's {@link StatementBudget}
+ *
+ * Reads the count from the X-SQL-Statement-Count header, so app.sql.statement-count-header
+ * must be on (it is outside the prod profile).
+ */
+public final class StatementBudgetAssertions {
+    
+    private StatementBudgetAssertions() {}
+    
+    /**
+     * Perform a request, completing it first if the handler started async processing
+     */
+    public static MvcResult perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+    
+    /**
+     * The handler declares a budget and the request ran at most that many SQL statements
+     */
+    public static ResultMatcher withinStatementBudget() {
+        return result -> {
+            assertThat(result.getHandler()).as("handler").isInstanceOf(HandlerMethod.class);
+            HandlerMethod handler = (HandlerMethod) result.getHandler();
+            StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+            assertThat(budget).as("@StatementBudget on %s", handler.getShortLogMessage()).isNotNull();
+            
+            String count = result.getResponse().getHeader(RequestCostFilter.STATEMENT_COUNT_HEADER);
+            assertThat(count).as("%s header of %s", RequestCostFilter.STATEMENT_COUNT_HEADER, 
+                handler.getShortLogMessage()).isNotNull();
+            assertThat(Integer.parseInt(count))
+                .as("SQL statements run by %s", handler.getShortLogMessage())
+                .isLessThanOrEqualTo(budget.value());
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.wellsfargo.interview.expensetracker.repository;
+
+import com.wellsfargo.interview.expensetracker.config.HibernateCacheConfig;
+import com.wellsfargo.interview.expensetracker.entity.Category;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User and category lookups are served from the second-level and query caches once warm,
+ * and a category write invalidates the cached category queries
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User("cache-" + UUID.randomUUID().toString().substring(0, 8), "hash"));
+    }
+    
+    @Test
+    void repeatedLookupsIssueNoStatements() {
+        Long categoryId = categoryRepository.save(new Category("Groceries", user)).getId();
+        lookUp(categoryId);
+        
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            lookUp(categoryId);
+        }
+        
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        // findByUsername, findByIsDefaultTrue and findUserCategoriesByUserId on every round
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(9);
+        assertThat(statistics.getQueryCacheMissCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USER_REGION).getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.CATEGORY_REGION).getHitCount()).isPositive();
+    }
+    
+    @Test
+    void categoryWriteInvalidatesCachedCategoryQuery() {
+        assertThat(categoryRepository.findUserCategoriesByUserId(user.getId())).isEmpty();
+        categoryRepository.save(new Category("Cached", user));
+        
+        statistics.clear();
+        List<Category> categories = categoryRepository.findUserCategoriesByUserId(user.getId());
+        
+        assertThat(categories).extracting(Category::getName).containsExactly("Cached");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    private void lookUp(Long categoryId) {
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        assertThat(categoryRepository.findByIsDefaultTrue()).isNotNull();
+        assertThat(categoryRepository.findUserCategoriesByUserId(user.getId())).hasSize(1);
+        assertThat(categoryRepository.findById(categoryId)).isPresent();
+    }
+}
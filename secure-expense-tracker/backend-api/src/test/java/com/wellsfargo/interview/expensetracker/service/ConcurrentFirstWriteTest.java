@@ -0,0 +1,81 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionRequest;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.repository.CategoryRepository;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent first writes of a user create their category, rollup bucket and running totals once,
+ * inside each writer's own transaction, with more writers than pooled connections
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=" + ConcurrentFirstWriteTest.POOL_SIZE,
+    "spring.datasource.hikari.connection-timeout=2000"
+})
+class ConcurrentFirstWriteTest {
+    
+    static final int POOL_SIZE = 4;
+    private static final int WRITERS = POOL_SIZE * 4;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+    
+    @Autowired
+    private UserTotalsService userTotalsService;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void concurrentFirstWritesCreateCategoryRollupsAndTotalsOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                User user = userRepository.save(new User("first-" + UUID.randomUUID().toString().substring(0, 8), "hash"));
+                
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> creates = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    TransactionRequest request = new TransactionRequest(
+                        BigDecimal.valueOf(20 + i), "Food", "First " + i, LocalDateTime.of(2025, round + 1, 15, 12, 0));
+                    creates.add(executor.submit(() -> {
+                        start.await();
+                        return transactionService.createTransaction(user, request);
+                    }));
+                }
+                start.countDown();
+                for (Future<?> create : creates) {
+                    create.get();
+                }
+                
+                assertThat(categoryRepository.findUserCategoriesByUserId(user.getId())).hasSize(1);
+                assertThat(spendingRollupService.reconcileUser(user.getId(), false)).isZero();
+                assertThat(userTotalsService.reconcileUser(user.getId(), false)).isFalse();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
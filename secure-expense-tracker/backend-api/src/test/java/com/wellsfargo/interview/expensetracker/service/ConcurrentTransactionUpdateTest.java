@@ -0,0 +1,76 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionRequest;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent updates of one transaction leave the rollups and running totals matching the
+ * committed row, so each update derives its deltas from the previous one's values
+ */
+@SpringBootTest
+class ConcurrentTransactionUpdateTest {
+    
+    private static final int WRITERS = 8;
+    private static final String[] CATEGORIES = {"Food", "Transportation", "Entertainment", "Shopping"};
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+    
+    @Autowired
+    private UserTotalsService userTotalsService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void concurrentUpdatesOfOneRowKeepRollupsAndTotalsExact() throws Exception {
+        User user = userRepository.save(new User("concurrent-" + UUID.randomUUID().toString().substring(0, 8), "hash"));
+        Long id = transactionService.createTransaction(user, new TransactionRequest(
+            new BigDecimal("10.00"), "Food", "Original", LocalDateTime.of(2025, 1, 15, 12, 0))).getId();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> updates = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    TransactionRequest request = new TransactionRequest(
+                        BigDecimal.valueOf(20 + round * WRITERS + i), CATEGORIES[i % CATEGORIES.length],
+                        "Update " + i, LocalDateTime.of(2025, i % 3 + 1, 15, 12, 0));
+                    updates.add(executor.submit(() -> {
+                        start.await();
+                        return transactionService.updateTransaction(user, id, request);
+                    }));
+                }
+                start.countDown();
+                for (Future<?> update : updates) {
+                    update.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertThat(spendingRollupService.reconcileUser(user.getId(), false)).isZero();
+        assertThat(userTotalsService.reconcileUser(user.getId(), false)).isFalse();
+    }
+}
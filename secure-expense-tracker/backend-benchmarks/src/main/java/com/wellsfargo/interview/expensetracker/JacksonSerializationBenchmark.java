@@ -0,0 +1,96 @@
+package com.wellsfargo.interview.expensetracker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wellsfargo.interview.expensetracker.dto.MonthlyReportResponse;
+import com.wellsfargo.interview.expensetracker.dto.TransactionFields;
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.service.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the list and monthly report responses with an ObjectMapper configured as Spring Boot does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private ObjectWriter sparseWriter;
+    private MonthlyReportResponse report;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(TransactionFields.ALL.toFilterProvider())
+            .build();
+        // Fields a list screen shows, as with fields=amount,category,transactionDate
+        sparseWriter = objectMapper.writer(TransactionFields.parse("amount,category,transactionDate").toFilterProvider());
+        report = sampleReport();
+    }
+    
+    @State(Scope.Benchmark)
+    public static class PageState {
+        
+        @Param({"20", "100"})
+        private int pageSize;
+        
+        private Page<TransactionResponse> page;
+        
+        @Setup
+        public void setUp() {
+            page = new PageImpl<>(BenchmarkFixtures.transactionResponses(pageSize), PageRequest.of(0, pageSize), 1000);
+        }
+    }
+    
+    @Benchmark
+    public byte[] transactionPage(PageState state) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+    
+    @Benchmark
+    public byte[] sparseTransactionPage(PageState state) throws JsonProcessingException {
+        return sparseWriter.writeValueAsBytes(state.page);
+    }
+    
+    @Benchmark
+    public byte[] monthlyReport() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(report);
+    }
+    
+    private static MonthlyReportResponse sampleReport() {
+        BigDecimal total = new BigDecimal("2450.00");
+        MonthlyReportResponse report = new MonthlyReportResponse(2025, 9, "SEPTEMBER", total, 120, 
+            total.divide(BigDecimal.valueOf(120), 2, RoundingMode.HALF_UP));
+        
+        List<MonthlyReportResponse.CategorySpending> breakdown = new ArrayList<>();
+        for (String category : BenchmarkFixtures.CATEGORIES) {
+            breakdown.add(new MonthlyReportResponse.CategorySpending(category, new BigDecimal("306.25"), 12.5, 15));
+        }
+        report.setCategoryBreakdown(breakdown);
+        
+        Map<String, BigDecimal> dailySpending = new LinkedHashMap<>();
+        for (int day = 1; day <= 30; day++) {
+            dailySpending.put(String.format("2025-09-%02d", day), new BigDecimal("81.67"));
+        }
+        report.setDailySpending(dailySpending);
+        return report;
+    }
+}
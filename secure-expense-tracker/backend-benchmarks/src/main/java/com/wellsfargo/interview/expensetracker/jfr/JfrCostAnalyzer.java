@@ -0,0 +1,174 @@
+package com.wellsfargo.interview.expensetracker.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summarizes the expense tracker's cost events in a JFR recording
+ *
+ * Groups request events by method and endpoint, and service and repository call events
+ * by class and method, and prints one table per group with call counts, p50/p99 duration
+ * and the average rows fetched, bytes decrypted and SQL statements per call. The slowest
+ * requests are listed by id so they can be followed through the other events and the logs.
+ *
+ * Usage: {@code java -cp target/benchmarks.jar com.wellsfargo.interview.expensetracker.jfr.JfrCostAnalyzer recording.jfr [--top=N]}
+ */
+public class JfrCostAnalyzer {
+    
+    private static final String REQUEST_EVENT = "expensetracker.Request";
+    private static final String SERVICE_EVENT = "expensetracker.ServiceCall";
+    private static final String REPOSITORY_EVENT = "expensetracker.RepositoryCall";
+    private static final String CRYPTO_EVENT = "expensetracker.Crypto";
+    private static final long MAX_DURATION_NANOS = TimeUnit.MINUTES.toNanos(10);
+    
+    private final Map<String, CostSummary> requests = new TreeMap<>();
+    private final Map<String, CostSummary> services = new TreeMap<>();
+    private final Map<String, CostSummary> repositories = new TreeMap<>();
+    private final Map<String, CostSummary> crypto = new TreeMap<>();
+    private final List<RecordedEvent> slowest = new ArrayList<>();
+    private final int top;
+    
+    JfrCostAnalyzer(int top) {
+        this.top = top;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path recording = null;
+        int top = 10;
+        for (String arg : args) {
+            if (arg.startsWith("--top=")) {
+                top = Integer.parseInt(arg.substring("--top=".length()));
+            } else {
+                recording = Path.of(arg);
+            }
+        }
+        if (recording == null || !Files.isRegularFile(recording)) {
+            System.err.println("Usage: JfrCostAnalyzer <recording.jfr> [--top=N]");
+            System.exit(2);
+        }
+        
+        JfrCostAnalyzer analyzer = new JfrCostAnalyzer(top);
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.accept(file.readEvent());
+            }
+        }
+        System.out.print(analyzer.report());
+    }
+    
+    void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case REQUEST_EVENT -> {
+                String key = event.getString("method") + " " + event.getString("endpoint");
+                summary(requests, key).add(event, event.getLong("rowsFetched"), event.getLong("bytesDecrypted"),
+                    event.getLong("sqlStatements"));
+                trackSlowest(event);
+            }
+            case SERVICE_EVENT -> {
+                String key = event.getString("service") + "." + event.getString("method");
+                summary(services, key).add(event, event.getLong("rowsFetched"), event.getLong("bytesDecrypted"),
+                    event.getLong("sqlStatements"));
+            }
+            case REPOSITORY_EVENT -> {
+                String key = event.getString("repository") + "." + event.getString("method");
+                summary(repositories, key).add(event, event.getLong("rowsFetched"), 0, event.getLong("sqlStatements"));
+            }
+            case CRYPTO_EVENT -> summary(crypto, event.getString("operation"))
+                .add(event, event.getLong("values"), event.getLong("bytes"), 0);
+            default -> {
+                // Not one of ours
+            }
+        }
+    }
+    
+    private static CostSummary summary(Map<String, CostSummary> group, String key) {
+        return group.computeIfAbsent(key, k -> new CostSummary());
+    }
+    
+    private void trackSlowest(RecordedEvent event) {
+        if (top <= 0) {
+            return;
+        }
+        slowest.add(event);
+        if (slowest.size() > top * 4) {
+            trimSlowest();
+        }
+    }
+    
+    private void trimSlowest() {
+        slowest.sort(Comparator.comparing((RecordedEvent event) -> event.getDuration()).reversed());
+        slowest.subList(Math.min(top, slowest.size()), slowest.size()).clear();
+    }
+    
+    String report() {
+        StringBuilder out = new StringBuilder();
+        table(out, "Requests", "Endpoint", requests, "Rows", "Bytes");
+        table(out, "Service calls", "Method", services, "Rows", "Bytes");
+        table(out, "Repository calls", "Method", repositories, "Rows", "Bytes");
+        table(out, "Bulk crypto", "Operation", crypto, "Values", "Bytes");
+        
+        trimSlowest();
+        if (!slowest.isEmpty()) {
+            out.append(String.format("%nSlowest requests%n%-20s %-8s %-38s %7s %10s %8s %10s %6s%n",
+                "Request id", "Method", "Endpoint", "Status", "ms", "Rows", "Bytes", "SQL"));
+            for (RecordedEvent event : slowest) {
+                out.append(String.format("%-20s %-8s %-38s %7d %10.2f %8d %10d %6d%n",
+                    event.getString("requestId"), event.getString("method"), event.getString("endpoint"),
+                    event.getInt("status"), event.getDuration().toNanos() / 1e6, event.getLong("rowsFetched"),
+                    event.getLong("bytesDecrypted"), event.getLong("sqlStatements")));
+            }
+        }
+        return out.toString();
+    }
+    
+    private static void table(StringBuilder out, String title, String keyHeader, Map<String, CostSummary> group,
+                              String rowsHeader, String bytesHeader) {
+        if (group.isEmpty()) {
+            return;
+        }
+        out.append(String.format("%n%s%n%-54s %8s %9s %9s %10s %10s %8s%n", title, keyHeader, "Count", "p50 ms",
+            "p99 ms", "Avg " + rowsHeader, "Avg " + bytesHeader, "Avg SQL"));
+        group.forEach((key, summary) -> out.append(String.format("%-54s %8d %9.2f %9.2f %10.1f %10.1f %8.1f%n", key,
+            summary.count, summary.millis(50), summary.millis(99), summary.average(summary.rows),
+            summary.average(summary.bytes), summary.average(summary.statements))));
+    }
+    
+    /**
+     * Durations and cost totals of one group of events
+     */
+    private static class CostSummary {
+        
+        private final Histogram durations = new Histogram(MAX_DURATION_NANOS, 3);
+        private long count;
+        private long rows;
+        private long bytes;
+        private long statements;
+        
+        void add(RecordedEvent event, long rows, long bytes, long statements) {
+            durations.recordValue(Math.min(event.getDuration().toNanos(), MAX_DURATION_NANOS));
+            count++;
+            this.rows += rows;
+            this.bytes += bytes;
+            this.statements += statements;
+        }
+        
+        double millis(double percentile) {
+            return durations.getValueAtPercentile(percentile) / 1e6;
+        }
+        
+        double average(long total) {
+            return count == 0 ? 0 : (double) total / count;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.wellsfargo.interview.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wellsfargo.interview.expensetracker.ExpenseTrackerApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the transaction API against an embedded H2 database
+ *
+ * Boots the application in-process on a random port, seeds users and transactions from a
+ * seeded generator, then drives a weighted mix of requests from a fixed number of client
+ * threads. Each thread draws its operations and parameters from its own seeded generator,
+ * so runs with the same options issue the same request mix over the same data. Latencies
+ * recorded after the warmup are reported per endpoint as throughput and p50/p99/p999, plus
+ * transactions written per second for the single and batch create endpoints.
+ *
+ * Exits with status 1 if any request failed or, given a baseline result file, if an
+ * endpoint's p99 regressed by more than the tolerance.
+ */
+public class LoadTest {
+    
+    private static final String[] CATEGORIES = {
+        "Food", "Transportation", "Entertainment", "Utilities", "Healthcare", "Shopping", "Education", "Other"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    
+    private String baseUrl;
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Deque<Long>> createdIds = new ArrayList<>();
+    
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = startApplication(options);
+        int status;
+        try {
+            LoadTest loadTest = new LoadTest(options);
+            loadTest.baseUrl = "http://localhost:" 
+                + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            status = loadTest.run();
+        } finally {
+            context.close();
+        }
+        System.exit(status);
+    }
+    
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) throws IOException {
+        Path keyFile = Files.createTempFile("loadtest", ".key");
+        Files.delete(keyFile);
+        keyFile.toFile().deleteOnExit();
+        
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "--spring.h2.console.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.wellsfargo.interview.expensetracker=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--app.encryption.key-file=" + keyFile,
+            // Seeding registers many users; authentication is not what is measured
+            "--app.auth.bcrypt.strength=4"));
+        args.addAll(options.applicationArgs);
+        return SpringApplication.run(ExpenseTrackerApplication.class, args.toArray(String[]::new));
+    }
+    
+    int run() throws Exception {
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("Seeded %d users x %d transactions in %d ms%n", options.users, options.transactionsPerUser,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+        
+        List<Map<Operation, WorkerResult>> workerResults = drive();
+        Map<Operation, WorkerResult> results = merge(workerResults);
+        double seconds = options.duration.toNanos() / 1e9;
+        
+        ObjectNode report = report(results, seconds);
+        System.out.println(format(report));
+        if (options.out != null) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(options.out), report);
+        }
+        
+        boolean failed = results.values().stream().anyMatch(result -> result.errors > 0);
+        if (failed) {
+            System.out.println("FAILED: requests returned errors");
+        }
+        if (options.baseline != null && regressed(report, objectMapper.readTree(new File(options.baseline)))) {
+            failed = true;
+        }
+        return failed ? 1 : 0;
+    }
+    
+    private void seed() throws Exception {
+        Random random = new Random(options.seed);
+        for (int u = 0; u < options.users; u++) {
+            ObjectNode register = objectMapper.createObjectNode()
+                .put("username", "loadtest" + u)
+                .put("password", "LoadTest-password-" + u);
+            JsonNode auth = send(post("/api/auth/register", null, register), 201);
+            String token = auth.get("token").asText();
+            tokens.add(token);
+            createdIds.add(new ConcurrentLinkedDeque<>());
+            
+            for (int offset = 0; offset < options.transactionsPerUser; offset += SEED_BATCH_SIZE) {
+                int count = Math.min(SEED_BATCH_SIZE, options.transactionsPerUser - offset);
+                send(post("/api/transactions/batch", token, batch(random, count)), 201);
+            }
+        }
+    }
+    
+    private List<Map<Operation, WorkerResult>> drive() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long until = measureFrom + options.duration.toNanos();
+        
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        try {
+            List<Future<Map<Operation, WorkerResult>>> futures = new ArrayList<>();
+            for (int w = 0; w < options.concurrency; w++) {
+                Random random = new Random(options.seed * 31 + w + 1);
+                futures.add(workers.submit(() -> work(random, measureFrom, until)));
+            }
+            
+            List<Map<Operation, WorkerResult>> results = new ArrayList<>();
+            for (Future<Map<Operation, WorkerResult>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+    
+    private Map<Operation, WorkerResult> work(Random random, long measureFrom, long until) {
+        Map<Operation, WorkerResult> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, new WorkerResult());
+        }
+        int totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        
+        long now;
+        while ((now = System.nanoTime()) < until) {
+            int userIndex = random.nextInt(tokens.size());
+            Operation operation = pick(random.nextInt(totalWeight));
+            Long deleteId = null;
+            if (operation == Operation.DELETE) {
+                deleteId = createdIds.get(userIndex).pollLast();
+                if (deleteId == null) {
+                    operation = Operation.CREATE;
+                }
+            }
+            
+            HttpRequest request = request(operation, userIndex, deleteId, random);
+            long sent = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long latency = System.nanoTime() - sent;
+            
+            if (operation == Operation.CREATE && status == 201) {
+                createdIds.get(userIndex).addLast(idOf(body));
+            }
+            if (now >= measureFrom) {
+                WorkerResult result = results.get(operation);
+                result.latencies.recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                if (status < 200 || status >= 300) {
+                    result.errors++;
+                } else if (operation == Operation.CREATE) {
+                    result.rowsWritten++;
+                } else if (operation == Operation.BATCH) {
+                    result.rowsWritten += options.batchSize;
+                }
+            }
+        }
+        return results;
+    }
+    
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty workload mix");
+    }
+    
+    private HttpRequest request(Operation operation, int userIndex, Long deleteId, Random random) {
+        String token = tokens.get(userIndex);
+        return switch (operation) {
+            case CREATE -> post("/api/transactions", token, transaction(random));
+            case BATCH -> post("/api/transactions/batch", token, batch(random, options.batchSize));
+            case LIST -> {
+                LocalDateTime startDate = EPOCH.plusDays(random.nextInt(300));
+                yield get("/api/transactions?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)].substring(0, 3)
+                    + "&startDate=" + startDate + "&endDate=" + startDate.plusDays(60) + "&page=0&size=20"
+                    + fieldsParameter("&"), token);
+            }
+            case STATS -> get("/api/transactions/stats" + fieldsParameter("?"), token);
+            case REPORT -> get("/api/transactions/reports/monthly?year=2025&month=" + (random.nextInt(12) + 1), token);
+            case DELETE -> authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/" + deleteId)), token)
+                .DELETE().build();
+        };
+    }
+    
+    private String fieldsParameter(String separator) {
+        return options.fields == null ? "" : separator + "fields=" + options.fields;
+    }
+    
+    private ObjectNode batch(Random random, int size) {
+        ArrayNode transactions = objectMapper.createArrayNode();
+        for (int i = 0; i < size; i++) {
+            transactions.add(transaction(random));
+        }
+        ObjectNode batch = objectMapper.createObjectNode();
+        batch.set("transactions", transactions);
+        return batch;
+    }
+    
+    private ObjectNode transaction(Random random) {
+        return objectMapper.createObjectNode()
+            .put("amount", BigDecimal.valueOf(random.nextInt(50_000) + 100, 2))
+            .put("category", CATEGORIES[random.nextInt(CATEGORIES.length)])
+            .put("description", "Load test purchase #" + random.nextInt(100_000))
+            .put("transactionDate", EPOCH.plusMinutes(random.nextInt(365 * 24 * 60)).toString());
+    }
+    
+    private HttpRequest post(String path, String token, JsonNode body) {
+        try {
+            return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private HttpRequest get(String path, String token) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), token).GET().build();
+    }
+    
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder, String token) {
+        builder.timeout(Duration.ofMinutes(1));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+    
+    private JsonNode send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " 
+                + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+    
+    private Long idOf(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Map<Operation, WorkerResult> merge(List<Map<Operation, WorkerResult>> workerResults) {
+        Map<Operation, WorkerResult> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, WorkerResult> results : workerResults) {
+            results.forEach((operation, result) -> merged.computeIfAbsent(operation, o -> new WorkerResult()).add(result));
+        }
+        return merged;
+    }
+    
+    private ObjectNode report(Map<Operation, WorkerResult> results, double seconds) {
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode settings = report.putObject("options");
+        settings.put("users", options.users)
+            .put("transactionsPerUser", options.transactionsPerUser)
+            .put("concurrency", options.concurrency)
+            .put("durationSeconds", options.duration.toSeconds())
+            .put("seed", options.seed)
+            .put("batchSize", options.batchSize);
+        settings.putPOJO("applicationArgs", options.applicationArgs);
+        
+        ObjectNode endpoints = report.putObject("endpoints");
+        WorkerResult total = new WorkerResult();
+        results.forEach((operation, result) -> {
+            if (result.latencies.getTotalCount() > 0) {
+                endpoints.set(operation.getEndpoint(), summary(result, seconds));
+                total.add(result);
+            }
+        });
+        report.set("total", summary(total, seconds));
+        return report;
+    }
+    
+    private ObjectNode summary(WorkerResult result, double seconds) {
+        Histogram latencies = result.latencies;
+        return objectMapper.createObjectNode()
+            .put("requests", latencies.getTotalCount())
+            .put("errors", result.errors)
+            .put("throughput", Math.round(latencies.getTotalCount() / seconds * 10) / 10.0)
+            .put("rowsPerSecond", Math.round(result.rowsWritten / seconds * 10) / 10.0)
+            .put("p50Ms", millis(latencies.getValueAtPercentile(50)))
+            .put("p99Ms", millis(latencies.getValueAtPercentile(99)))
+            .put("p999Ms", millis(latencies.getValueAtPercentile(99.9)))
+            .put("maxMs", millis(latencies.getMaxValue()));
+    }
+    
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e4) / 100.0;
+    }
+    
+    private static String format(ObjectNode report) {
+        StringBuilder table = new StringBuilder(String.format("%n%-38s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Errors", "Req/s", "Rows/s", "p50 ms", "p99 ms", "p999 ms", "Max ms"));
+        report.get("endpoints").fields().forEachRemaining(entry -> table.append(row(entry.getKey(), entry.getValue())));
+        table.append(row("Total", report.get("total")));
+        return table.toString();
+    }
+    
+    private static String row(String name, JsonNode summary) {
+        return String.format("%-38s %9d %7d %9.1f %9.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+            summary.get("requests").asLong(), summary.get("errors").asLong(), summary.get("throughput").asDouble(),
+            summary.get("rowsPerSecond").asDouble(), summary.get("p50Ms").asDouble(), summary.get("p99Ms").asDouble(),
+            summary.get("p999Ms").asDouble(), summary.get("maxMs").asDouble());
+    }
+    
+    /**
+     * Compare each endpoint's p99 with a previous result file
+     */
+    private boolean regressed(ObjectNode report, JsonNode baseline) {
+        boolean regressed = false;
+        var endpoints = report.get("endpoints").fields();
+        while (endpoints.hasNext()) {
+            var entry = endpoints.next();
+            JsonNode previous = baseline.path("endpoints").path(entry.getKey());
+            if (previous.isMissingNode()) {
+                continue;
+            }
+            double before = previous.get("p99Ms").asDouble();
+            double after = entry.getValue().get("p99Ms").asDouble();
+            if (after > before * (1 + options.tolerance)) {
+                System.out.printf("REGRESSION: %s p99 %.2f ms vs baseline %.2f ms%n", entry.getKey(), after, before);
+                regressed = true;
+            }
+        }
+        return regressed;
+    }
+    
+    /**
+     * Latencies, error count and transactions written of one client thread, merged at the end
+     */
+    private static final class WorkerResult {
+        
+        private final Histogram latencies = new Histogram(MAX_LATENCY_NANOS, 3);
+        private long errors;
+        private long rowsWritten;
+        
+        void add(WorkerResult other) {
+            latencies.add(other.latencies);
+            errors += other.errors;
+            rowsWritten += other.rowsWritten;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.wellsfargo.interview.expensetracker.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test
+ *
+ * Options are given as --name=value. Anything starting with --app., --spring. or --server.
+ * is passed through to the application, e.g. --app.threads.virtual=true.
+ */
+public class LoadTestOptions {
+    
+    int users = 20;
+    int transactionsPerUser = 500;
+    int concurrency = 16;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    long seed = 42L;
+    Map<Operation, Integer> mix = defaultMix();
+    String fields;
+    int batchSize = 100;
+    String out;
+    String baseline;
+    double tolerance = 0.25;
+    List<String> applicationArgs = new ArrayList<>();
+    
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            
+            if (name.startsWith("app.") || name.startsWith("spring.") || name.startsWith("server.")) {
+                options.applicationArgs.add(arg);
+                continue;
+            }
+            
+            switch (name) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "transactions-per-user" -> options.transactionsPerUser = Integer.parseInt(value);
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "fields" -> options.fields = value;
+                case "batch-size" -> options.batchSize = Integer.parseInt(value);
+                case "out" -> options.out = value;
+                case "baseline" -> options.baseline = value;
+                case "tolerance" -> options.tolerance = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * Parse weights such as create=20,list=40,stats=20,report=10,delete=10 (batch is also available)
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+    
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.CREATE, 20);
+        mix.put(Operation.LIST, 40);
+        mix.put(Operation.STATS, 20);
+        mix.put(Operation.REPORT, 10);
+        mix.put(Operation.DELETE, 10);
+        return mix;
+    }
+}
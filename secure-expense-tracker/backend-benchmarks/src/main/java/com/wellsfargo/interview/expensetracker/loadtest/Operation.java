@@ -0,0 +1,24 @@
+package com.wellsfargo.interview.expensetracker.loadtest;
+
+/**
+ * Endpoints exercised by the load test
+ */
+public enum Operation {
+    
+    CREATE("POST /api/transactions"),
+    BATCH("POST /api/transactions/batch"),
+    LIST("GET /api/transactions"),
+    STATS("GET /api/transactions/stats"),
+    REPORT("GET /api/transactions/reports/monthly"),
+    DELETE("DELETE /api/transactions/{id}");
+    
+    private final String endpoint;
+    
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,150 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.ExpenseTrackerApplication;
+import com.wellsfargo.interview.expensetracker.dto.TransactionRequest;
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import com.wellsfargo.interview.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds services and sample data outside a Spring context
+ */
+public final class BenchmarkFixtures {
+    
+    public static final String[] CATEGORIES = {
+        "Food", "Transportation", "Entertainment", "Utilities", "Healthcare", "Shopping", "Education", "Other"
+    };
+    
+    private static final long SEED = 42L;
+    
+    // Within app.transactions.batch.max-size
+    private static final int SEED_BATCH_SIZE = 1000;
+    
+    private BenchmarkFixtures() {}
+    
+    /**
+     * Encryption service with a freshly generated key in a temporary file, recording its
+     * timers to an in-memory registry as it would in the application
+     */
+    public static EncryptionService encryptionService() {
+        try {
+            Path keyFile = Files.createTempFile("benchmark", ".key");
+            Files.delete(keyFile);
+            keyFile.toFile().deleteOnExit();
+            
+            EncryptionService encryptionService = new EncryptionService();
+            inject(encryptionService, "keyFile", keyFile.toString());
+            inject(encryptionService, "meterRegistry", new SimpleMeterRegistry());
+            encryptionService.initMetrics();
+            return encryptionService;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Boot the application without a web server on its own embedded H2 database, for
+     * benchmarks that need the repositories
+     *
+     * @param args extra application arguments, e.g. {@code --app.auth.username-bloom.enabled=false}
+     */
+    public static ConfigurableApplicationContext startApplication(String name, String... args) {
+        try {
+            Path keyFile = Files.createTempFile(name, ".key");
+            Files.delete(keyFile);
+            keyFile.toFile().deleteOnExit();
+            
+            List<String> arguments = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                // H2 would otherwise serve repeated identical queries from its result cache
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.wellsfargo.interview.expensetracker=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--app.encryption.key-file=" + keyFile));
+            arguments.addAll(Arrays.asList(args));
+            return SpringApplication.run(ExpenseTrackerApplication.class, arguments.toArray(String[]::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Create a user with deterministic transactions spread over the past years, written
+     * through the batch ingestion path
+     */
+    public static User seedUser(ConfigurableApplicationContext context, String username, int transactions) {
+        User user = context.getBean(UserRepository.class).save(new User(username, "not-a-password-hash"));
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        
+        Random random = random();
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 12, 0);
+        List<TransactionRequest> batch = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            batch.add(new TransactionRequest(BigDecimal.valueOf(random.nextInt(50000) + 100, 2),
+                CATEGORIES[random.nextInt(CATEGORIES.length)], description(random), now.minusHours(i * 7L)));
+            if (batch.size() == SEED_BATCH_SIZE || i == transactions - 1) {
+                transactionService.createTransactions(user, batch);
+                batch = new ArrayList<>();
+            }
+        }
+        return user;
+    }
+    
+    /**
+     * Set a private field the way @Autowired/@Value would
+     */
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName, e);
+        }
+    }
+    
+    /**
+     * A description of typical length
+     */
+    public static String description(Random random) {
+        return "Dinner with the team at restaurant #" + random.nextInt(1000) + ", split three ways";
+    }
+    
+    /**
+     * Deterministic transaction responses as served by the list endpoint
+     */
+    public static List<TransactionResponse> transactionResponses(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 12, 0);
+        List<TransactionResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime date = now.minusHours(i * 7L);
+            responses.add(new TransactionResponse((long) i + 1, 
+                BigDecimal.valueOf(random.nextInt(50000) + 100, 2),
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                description(random), date, date, null));
+        }
+        return responses;
+    }
+    
+    public static Random random() {
+        return new Random(SEED);
+    }
+}
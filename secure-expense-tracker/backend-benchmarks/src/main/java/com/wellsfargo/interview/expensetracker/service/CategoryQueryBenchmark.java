@@ -0,0 +1,131 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category filter and usage statistics on a large transaction history, matching free-text
+ * category names against matching dictionary-encoded category IDs
+ *
+ * Runs against the application on an embedded H2 database. The name variants are the
+ * queries used before category IDs: a case-insensitive substring LIKE that cannot use an
+ * index, and a join on the category name. The ID variants resolve the filter through the
+ * in-memory category dictionary and match on the indexed category_id. A filter reads one
+ * page and its total count, as the list endpoint does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryQueryBenchmark {
+    
+    private static final String SUMMARY = "SELECT new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+        "t.id, t.amount, t.category, t.transactionDate, t.createdAt, t.updatedAt)";
+    
+    private static final String BY_NAME = " FROM Transaction t WHERE t.user.id = :userId " +
+        "AND LOWER(t.category) LIKE LOWER(CONCAT('%', :category, '%'))";
+    
+    private static final String BY_ID = " FROM Transaction t WHERE t.user.id = :userId " +
+        "AND t.categoryId IN :categoryIds";
+    
+    private static final String ORDER = " ORDER BY t.transactionDate DESC";
+    
+    private static final String USAGE_BY_NAME = "SELECT c.name, COUNT(t) FROM Category c " +
+        "LEFT JOIN Transaction t ON c.name = t.category AND t.user.id = :userId " +
+        "WHERE c.isDefault = true OR c.user.id = :userId " +
+        "GROUP BY c.name ORDER BY COUNT(t) DESC";
+    
+    private static final String USAGE_BY_ID = "SELECT c.name, COUNT(t) FROM Category c " +
+        "LEFT JOIN Transaction t ON t.categoryId = c.id AND t.user.id = :userId " +
+        "WHERE c.isDefault = true OR c.user.id = :userId " +
+        "GROUP BY c.id, c.name ORDER BY COUNT(t) DESC";
+    
+    private static final int PAGE_SIZE = 20;
+    
+    @Param({"10000", "100000"})
+    private int transactions;
+    
+    private ConfigurableApplicationContext context;
+    private CategoryService categoryService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("categories");
+        categoryService = context.getBean(CategoryService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+            context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        user = BenchmarkFixtures.seedUser(context, "categories", transactions);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public long filterByName() {
+        return readOnly.execute(status -> {
+            List<TransactionResponse> page = entityManager
+                .createQuery(SUMMARY + BY_NAME + ORDER, TransactionResponse.class)
+                .setParameter("userId", user.getId())
+                .setParameter("category", "Food")
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+            return page.size() + entityManager.createQuery("SELECT COUNT(t)" + BY_NAME, Long.class)
+                .setParameter("userId", user.getId())
+                .setParameter("category", "Food")
+                .getSingleResult();
+        });
+    }
+    
+    @Benchmark
+    public long filterByCategoryId() {
+        return readOnly.execute(status -> {
+            CategoryFilter filter = categoryService.resolveFilter(user.getId(), null, "Food");
+            List<TransactionResponse> page = entityManager
+                .createQuery(SUMMARY + BY_ID + ORDER, TransactionResponse.class)
+                .setParameter("userId", user.getId())
+                .setParameter("categoryIds", filter.getIds())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+            return page.size() + entityManager.createQuery("SELECT COUNT(t)" + BY_ID, Long.class)
+                .setParameter("userId", user.getId())
+                .setParameter("categoryIds", filter.getIds())
+                .getSingleResult();
+        });
+    }
+    
+    @Benchmark
+    public List<Object[]> usageStatsByName() {
+        return readOnly.execute(status -> entityManager.createQuery(USAGE_BY_NAME, Object[].class)
+            .setParameter("userId", user.getId())
+            .getResultList());
+    }
+    
+    @Benchmark
+    public List<Object[]> usageStatsByCategoryId() {
+        return readOnly.execute(status -> entityManager.createQuery(USAGE_BY_ID, Object[].class)
+            .setParameter("userId", user.getId())
+            .getResultList());
+    }
+}
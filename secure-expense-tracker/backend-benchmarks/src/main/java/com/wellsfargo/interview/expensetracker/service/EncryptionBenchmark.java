@@ -0,0 +1,51 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypting and decrypting a single transaction description, as stored ciphertext bytes
+ * and in the legacy Base64 form
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionBenchmark {
+    
+    private EncryptionService encryptionService;
+    private String plainText;
+    private String cipherText;
+    private byte[] ciphertextBytes;
+    
+    @Setup
+    public void setUp() {
+        encryptionService = BenchmarkFixtures.encryptionService();
+        plainText = BenchmarkFixtures.description(BenchmarkFixtures.random());
+        cipherText = encryptionService.encrypt(plainText);
+        ciphertextBytes = encryptionService.encryptToBytes(plainText);
+    }
+    
+    @Benchmark
+    public byte[] encrypt() {
+        return encryptionService.encryptToBytes(plainText);
+    }
+    
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(ciphertextBytes);
+    }
+    
+    @Benchmark
+    public String encryptLegacy() {
+        return encryptionService.encrypt(plainText);
+    }
+    
+    @Benchmark
+    public String decryptLegacy() {
+        return encryptionService.decrypt(cipherText);
+    }
+}
@@ -0,0 +1,47 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.MonthlyReportResponse;
+import com.wellsfargo.interview.expensetracker.entity.SpendingRollup;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals and category breakdown of the monthly report, computed from rollup buckets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthlyReportBenchmark {
+    
+    @Param({"8", "64"})
+    private int categories;
+    
+    private List<SpendingRollup> rollups;
+    
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkFixtures.random();
+        rollups = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            SpendingRollup rollup = new SpendingRollup(1L, 2025, 9, "Category " + i);
+            rollup.setCount((long) random.nextInt(200) + 1);
+            rollup.setTotal(BigDecimal.valueOf(random.nextInt(5_000_000) + 100, 2));
+            rollups.add(rollup);
+        }
+        rollups.sort(Comparator.comparing(SpendingRollup::getTotal).reversed());
+    }
+    
+    @Benchmark
+    public MonthlyReportResponse summarizeRollups() {
+        return TransactionService.summarizeRollups(2025, 9, rollups);
+    }
+}
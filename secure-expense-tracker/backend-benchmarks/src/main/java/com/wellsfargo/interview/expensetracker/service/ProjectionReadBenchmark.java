@@ -0,0 +1,136 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.entity.Transaction;
+import com.wellsfargo.interview.expensetracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a page of the transaction list and the dashboard's recent transactions as hydrated
+ * entities converted to responses, against the constructor-expression projections the
+ * repository now uses
+ *
+ * Runs against the application on an embedded H2 database. Both variants of a path use the
+ * same WHERE clause, ordering and read-only transaction, so only the select list and the
+ * conversion differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionReadBenchmark {
+    
+    private static final String RESPONSE = "new com.wellsfargo.interview.expensetracker.dto.TransactionResponse(" +
+        "t.id, t.amount, t.category, t.descriptionCiphertext, t.encryptedDescription, t.transactionDate, " +
+        "t.createdAt, t.updatedAt)";
+    
+    // Filters of the list endpoint, as in TransactionRepository.findResponsesByUserWithFilters
+    private static final String LIST_FILTERS = " FROM Transaction t WHERE t.user.id = :userId " +
+        "AND (:anyCategory = true OR t.categoryId IN :categoryIds) " +
+        "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+        "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+        "ORDER BY t.transactionDate DESC";
+    
+    private static final String RECENT_FILTERS = " FROM Transaction t WHERE t.user.id = :userId " +
+        "ORDER BY t.transactionDate DESC";
+    
+    private static final int RECENT_TRANSACTIONS = 10;
+    
+    @Param({"20", "100"})
+    private int pageSize;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("projection");
+        transactionService = context.getBean(TransactionService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+            context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        user = BenchmarkFixtures.seedUser(context, "projection", 2000);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<TransactionResponse> listEntities() {
+        return readOnly.execute(status -> listQuery("SELECT t", Transaction.class)
+            .getResultStream()
+            .map(transactionService::convertToResponse)
+            .toList());
+    }
+    
+    @Benchmark
+    public List<TransactionResponse> listProjections() {
+        return readOnly.execute(status -> {
+            List<TransactionResponse> responses = listQuery("SELECT " + RESPONSE, TransactionResponse.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+            transactionService.decryptDescriptions(responses);
+            return responses;
+        });
+    }
+    
+    /**
+     * Recent transactions of the stats endpoint
+     */
+    @Benchmark
+    public List<TransactionResponse> recentEntities() {
+        return readOnly.execute(status -> recentQuery("SELECT t", Transaction.class)
+            .getResultStream()
+            .map(transactionService::convertToResponse)
+            .toList());
+    }
+    
+    @Benchmark
+    public List<TransactionResponse> recentProjections() {
+        return readOnly.execute(status -> {
+            List<TransactionResponse> responses = recentQuery("SELECT " + RESPONSE, TransactionResponse.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+            transactionService.decryptDescriptions(responses);
+            return responses;
+        });
+    }
+    
+    private <T> TypedQuery<T> listQuery(String select, Class<T> resultType) {
+        return entityManager.createQuery(select + LIST_FILTERS, resultType)
+            .setParameter("userId", user.getId())
+            .setParameter("anyCategory", true)
+            .setParameter("categoryIds", List.of(0L))
+            .setParameter("startDate", (LocalDateTime) null)
+            .setParameter("endDate", (LocalDateTime) null)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, pageSize)
+            .setMaxResults(pageSize);
+    }
+    
+    private <T> TypedQuery<T> recentQuery(String select, Class<T> resultType) {
+        return entityManager.createQuery(select + RECENT_FILTERS, resultType)
+            .setParameter("userId", user.getId())
+            .setHint(HibernateHints.HINT_FETCH_SIZE, RECENT_TRANSACTIONS)
+            .setMaxResults(RECENT_TRANSACTIONS);
+    }
+}
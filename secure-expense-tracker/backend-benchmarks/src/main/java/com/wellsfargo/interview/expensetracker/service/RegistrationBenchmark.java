@@ -0,0 +1,49 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.AuthResponse;
+import com.wellsfargo.interview.expensetracker.dto.RegisterRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration throughput with the username Bloom filter on and off
+ *
+ * Every operation registers a name that was never taken, the common case in a signup
+ * storm, against the application on an embedded H2 database. bcrypt runs at cost 4 so the
+ * hashing does not drown out the existence check the filter saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RegistrationBenchmark {
+    
+    @Param({"true", "false"})
+    private boolean bloomFilter;
+    
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long sequence;
+    
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("registration",
+            "--app.auth.username-bloom.enabled=" + bloomFilter,
+            "--app.auth.bcrypt.strength=4");
+        userService = context.getBean(UserService.class);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public AuthResponse registerNewUsername() {
+        return userService.register(new RegisterRequest("signup" + sequence++, "password123")).join();
+    }
+}
@@ -0,0 +1,45 @@
+package com.wellsfargo.interview.expensetracker.service;
+
+import com.wellsfargo.interview.expensetracker.dto.TransactionResponse;
+import com.wellsfargo.interview.expensetracker.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a transaction entity to its response, including decryption of the description
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionConversionBenchmark {
+    
+    private TransactionService transactionService;
+    private Transaction transaction;
+    
+    @Setup
+    public void setUp() {
+        EncryptionService encryptionService = BenchmarkFixtures.encryptionService();
+        transactionService = new TransactionService();
+        BenchmarkFixtures.inject(transactionService, "encryptionService", encryptionService);
+        
+        transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setAmount(new BigDecimal("42.50"));
+        transaction.setCategory("Food");
+        transaction.setDescriptionCiphertext(encryptionService.encryptToBytes(
+            BenchmarkFixtures.description(BenchmarkFixtures.random())));
+        transaction.setTransactionDate(LocalDateTime.of(2025, 9, 1, 12, 0));
+        transaction.setCreatedAt(LocalDateTime.of(2025, 9, 1, 12, 0));
+    }
+    
+    @Benchmark
+    public TransactionResponse convertToResponse() {
+        return transactionService.convertToResponse(transaction);
+    }
+}